@@ -0,0 +1,105 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.TaskManagementApplication;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskPriority;
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.JwtUtils;
+import com.example.taskmanagement.security.UserDetailsImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * A full authenticated GET /tasks through the security filter chain, AuthTokenFilter, the
+ * controller and an embedded H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthFilterChainBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    private String bearer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskManagementApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        TaskRepository taskRepository = context.getBean(TaskRepository.class);
+        User user = userRepository.save(new User("benchmark", "benchmark@example.com", "password", "ROLE_USER"));
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Task task = new Task("Task " + i, "Description " + i, user, LocalDateTime.now().plusDays(i),
+                    TaskPriority.MEDIUM);
+            task.setAssignedUser(user);
+            task.setAttachments(List.of("file-" + i));
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+        bearer = "Bearer " + context.getBean(JwtUtils.class).generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult listTasks() throws Exception {
+        MvcResult result = mockMvc.perform(get("/tasks").header("Authorization", bearer)).andReturn();
+        if (result.getResponse().getStatus() != 200) {
+            throw new IllegalStateException("Unexpected status " + result.getResponse().getStatus());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.security.JwtUtils;
+import com.example.taskmanagement.security.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification cost, with and without the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils cachingJwtUtils;
+
+    private JwtUtils uncachedJwtUtils;
+
+    private Authentication authentication;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtils = newJwtUtils(10_000L);
+        uncachedJwtUtils = newJwtUtils(0L);
+
+        UserDetailsImpl principal = new UserDetailsImpl(1L, "benchmark", "benchmark@example.com", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")), 0L);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = cachingJwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public Claims validateToken() {
+        return uncachedJwtUtils.parseAndValidate(token);
+    }
+
+    @Benchmark
+    public Claims validateCachedToken() {
+        return cachingJwtUtils.parseAndValidate(token);
+    }
+
+    static JwtUtils newJwtUtils(long verifiedCacheSize) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret",
+                "SecretKeyToGenJWTsWithAtLeast32CharactersLongToMakeItSecure");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", verifiedCacheSize);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        return jwtUtils;
+    }
+}
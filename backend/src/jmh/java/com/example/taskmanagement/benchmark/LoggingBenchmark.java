@@ -0,0 +1,132 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.TaskManagementApplication;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskPriority;
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.JwtUtils;
+import com.example.taskmanagement.security.UserDetailsImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Task reads and writes under the default logging setup (synchronous console, every SQL
+ * statement pretty-printed to stdout) and under the prod profile (async JSON, no SQL echo).
+ * Redirect stdout to a file when running it, as a terminal would otherwise be the bottleneck:
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.args="LoggingBenchmark" > /tmp/logging.out
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({ "default", "prod" })
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    private String bearer;
+
+    private String taskJson;
+
+    private long taskId;
+
+    @Setup
+    public void setUp() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TaskManagementApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:logging;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.flyway.locations=classpath:db/migration/common",
+                        "app.search.indexDir=");
+        // The test application.properties shadows the main one on this classpath, so the settings
+        // being compared are passed as arguments, which take precedence over both.
+        if ("prod".equals(profile)) {
+            context = builder.profiles("prod").run(
+                    "--spring.jpa.properties.hibernate.generate_statistics=false");
+        } else {
+            context = builder.run(
+                    "--spring.jpa.properties.hibernate.generate_statistics=false",
+                    "--spring.jpa.show-sql=true",
+                    "--spring.jpa.properties.hibernate.format_sql=true");
+        }
+
+        User user = context.getBean(UserRepository.class)
+                .save(new User("benchmark", "benchmark@example.com", "password", "ROLE_USER"));
+        Task task = new Task("Task", "Description", user, LocalDateTime.now().plusDays(1), TaskPriority.MEDIUM);
+        taskId = context.getBean(TaskRepository.class).save(task).getId();
+        taskJson = "{\"title\":\"Task\",\"description\":\"Description\",\"attachments\":[\"a.pdf\",\"b.pdf\"]}";
+
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+        bearer = "Bearer " + context.getBean(JwtUtils.class).generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult listTasks() throws Exception {
+        return perform(get("/tasks").header("Authorization", bearer));
+    }
+
+    @Benchmark
+    public MvcResult updateTask() throws Exception {
+        return perform(put("/tasks/" + taskId).header("Authorization", bearer)
+                .contentType(MediaType.APPLICATION_JSON).content(taskJson));
+    }
+
+    private MvcResult perform(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getResponse().getStatus() >= 300) {
+            throw new IllegalStateException("Unexpected status " + result.getResponse().getStatus());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.TaskManagementApplication;
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskPriority;
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.JwtUtils;
+import com.example.taskmanagement.security.UserDetailsImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * The user-heavy requests with the second-level cache on and off. Besides throughput, each
+ * iteration prints the SQL statements issued per request, which is the number the cache is
+ * meant to bring down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    private Statistics statistics;
+
+    private String bearer;
+
+    private String taskJson;
+
+    private long taskId;
+
+    private long requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskManagementApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "logging.level.root=WARN")
+                // Arguments, unlike the defaults above, take precedence over application.properties.
+                .run("--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        User user = userRepository.save(new User("benchmark", "benchmark@example.com", "password", "ROLE_USER"));
+        for (int i = 0; i < 20; i++) {
+            userRepository.save(new User("member-" + i, "member-" + i + "@example.com", "password", "ROLE_USER"));
+        }
+        Task task = new Task("Task", "Description", user, LocalDateTime.now().plusDays(1), TaskPriority.MEDIUM);
+        taskId = context.getBean(TaskRepository.class).save(task).getId();
+        taskJson = "{\"title\":\"Task\",\"description\":\"Description\",\"assignedUserId\":" + user.getId() + "}";
+
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+        bearer = "Bearer " + context.getBean(JwtUtils.class).generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        statistics.clear();
+        requests = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportStatements() {
+        System.out.printf("%nsecondLevelCache=%s: %.2f SQL statements per request%n", secondLevelCache,
+                statistics.getPrepareStatementCount() / (double) Math.max(1, requests));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult listUsers() throws Exception {
+        return perform(get("/users").header("Authorization", bearer));
+    }
+
+    @Benchmark
+    public MvcResult createTask() throws Exception {
+        return perform(post("/tasks").header("Authorization", bearer)
+                .contentType(MediaType.APPLICATION_JSON).content(taskJson));
+    }
+
+    @Benchmark
+    public MvcResult updateTask() throws Exception {
+        return perform(put("/tasks/" + taskId).header("Authorization", bearer)
+                .contentType(MediaType.APPLICATION_JSON).content(taskJson));
+    }
+
+    private MvcResult perform(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getResponse().getStatus() >= 300) {
+            throw new IllegalStateException("Unexpected status " + result.getResponse().getStatus());
+        }
+        requests++;
+        return result;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.entity.TaskPriority;
+import com.example.taskmanagement.entity.TaskStatus;
+import com.example.taskmanagement.payload.task.TaskResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a task listing, using the same ObjectMapper defaults Spring MVC uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    @Param({ "100", "10000", "100000" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<TaskResponse> tasks;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        LocalDateTime now = LocalDateTime.now();
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(new TaskResponse((long) i, "Task " + i, "Description for task " + i,
+                    TaskStatus.values()[i % TaskStatus.values().length], now, now, now.plusDays(i % 30),
+                    List.of("http://localhost:8080/uploads/" + i + ".pdf"),
+                    TaskPriority.values()[i % TaskPriority.values().length], (long) (i % 50), "user" + (i % 50)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTaskList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+}
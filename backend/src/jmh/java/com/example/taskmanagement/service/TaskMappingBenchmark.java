@@ -0,0 +1,58 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskPriority;
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.payload.task.TaskResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping in {@link TaskServiceImpl}. Lives in the service package because
+ * {@code mapToResponse} is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    private TaskServiceImpl taskService;
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        taskService = new TaskServiceImpl();
+
+        User owner = new User("owner", "owner@example.com", "password", "ROLE_USER");
+        owner.setId(1L);
+        User assignee = new User("assignee", "assignee@example.com", "password", "ROLE_USER");
+        assignee.setId(2L);
+
+        task = new Task("Benchmark task", "A description of moderate length for the benchmark.", owner,
+                LocalDateTime.now().plusDays(3), TaskPriority.HIGH);
+        task.setId(42L);
+        task.setAssignedUser(assignee);
+        task.setAttachments(List.of("http://localhost:8080/uploads/a.pdf", "http://localhost:8080/uploads/b.png"));
+    }
+
+    @Benchmark
+    public TaskResponse mapToResponse() {
+        return taskService.mapToResponse(task);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.taskmanagement.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and errors of one operation. Each worker thread owns its recorders, so nothing
+ * here is synchronized; they are merged once the run is over.
+ */
+class LatencyRecorder {
+
+    private long[] nanos = new long[1024];
+    private int count;
+    private int errors;
+
+    void record(long latencyNanos, boolean error) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = latencyNanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    void reset() {
+        count = 0;
+        errors = 0;
+    }
+
+    void addAll(LatencyRecorder other) {
+        if (count + other.count > nanos.length) {
+            nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, count + other.count));
+        }
+        System.arraycopy(other.nanos, 0, nanos, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    LoadTestResult.OperationResult summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        LoadTestResult.OperationResult result = new LoadTestResult.OperationResult();
+        result.setRequests(count);
+        result.setErrors(errors);
+        result.setErrorRate(count == 0 ? 0 : (double) errors / count);
+        result.setThroughput(count / seconds);
+        result.setP50Ms(percentile(sorted, 0.50));
+        result.setP90Ms(percentile(sorted, 0.90));
+        result.setP99Ms(percentile(sorted, 0.99));
+        result.setMaxMs(count == 0 ? 0 : sorted[count - 1] / 1_000_000.0);
+        return result;
+    }
+
+    /** Nearest-rank percentile in milliseconds. */
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+}
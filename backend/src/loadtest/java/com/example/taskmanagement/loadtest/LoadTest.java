@@ -0,0 +1,226 @@
+package com.example.taskmanagement.loadtest;
+
+import com.example.taskmanagement.TaskManagementApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Drives the real controllers over HTTP with a weighted mix of board traffic and reports
+ * throughput, latency percentiles and error rates per operation. Unless {@code --target} points
+ * at a running backend, one is started in this JVM on H2 or an embedded PostgreSQL.
+ * Run with: mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--users=32 --duration=120"
+ */
+public class LoadTest {
+
+    private final LoadTestConfig config;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private volatile boolean measuring;
+
+    private volatile boolean stopped;
+
+    public LoadTest(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        EmbeddedPostgres postgres = null;
+        ConfigurableApplicationContext context = null;
+        int exitCode;
+        try {
+            String target = config.getTarget();
+            if (target == null) {
+                if ("postgres".equals(config.getDb())) {
+                    postgres = EmbeddedPostgres.builder().start();
+                }
+                context = startBackend(postgres, config.getProfiles());
+                target = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            }
+            exitCode = new LoadTest(config).run(target);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    /** Runs the test and returns the process exit code: 1 if it regressed against the baseline. */
+    public int run(String target) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<VirtualUser> users = new ArrayList<>();
+        for (int i = 0; i < config.getUsers(); i++) {
+            VirtualUser user = new VirtualUser(client, objectMapper, target, "load-" + run + "-" + i,
+                    config.getUploadBytes());
+            user.register();
+            user.login();
+            user.seed(config.getTasksPerUser());
+            users.add(user);
+        }
+        System.out.printf("%d users with %d tasks each against %s; warming up for %ds, then measuring for %ds%n",
+                users.size(), config.getTasksPerUser(), target, config.getWarmup().toSeconds(),
+                config.getDuration().toSeconds());
+
+        List<Thread> workers = new ArrayList<>();
+        for (VirtualUser user : users) {
+            Thread worker = new Thread(() -> drive(user), "load-" + workers.size());
+            worker.start();
+            workers.add(worker);
+        }
+        Thread.sleep(config.getWarmup().toMillis());
+        users.forEach(VirtualUser::resetRecorders);
+        measuring = true;
+        long start = System.nanoTime();
+        Thread.sleep(config.getDuration().toMillis());
+        measuring = false;
+        double seconds = (System.nanoTime() - start) / 1e9;
+        stopped = true;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        LoadTestResult result = summarize(users, target, seconds);
+        print(result);
+        Path file = config.getResult();
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        objectMapper.writeValue(file.toFile(), result);
+        System.out.println("Saved to " + file.toAbsolutePath());
+        return compareWithBaseline(result);
+    }
+
+    private void drive(VirtualUser user) {
+        Operation[] operations = config.getMix().keySet().toArray(new Operation[0]);
+        int[] cumulative = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += config.getMix().get(operations[i]);
+            cumulative[i] = total;
+        }
+        while (!stopped && !Thread.currentThread().isInterrupted()) {
+            int pick = ThreadLocalRandom.current().nextInt(total);
+            int i = 0;
+            while (pick >= cumulative[i]) {
+                i++;
+            }
+            user.run(operations[i], measuring);
+        }
+    }
+
+    private LoadTestResult summarize(List<VirtualUser> users, String target, double seconds) {
+        Map<Operation, LatencyRecorder> merged = new EnumMap<>(Operation.class);
+        LatencyRecorder all = new LatencyRecorder();
+        for (VirtualUser user : users) {
+            user.getRecorders().forEach((operation, recorder) -> {
+                merged.computeIfAbsent(operation, key -> new LatencyRecorder()).addAll(recorder);
+                all.addAll(recorder);
+            });
+        }
+
+        LoadTestResult result = new LoadTestResult();
+        result.setTimestamp(OffsetDateTime.now().toString());
+        result.setTarget(target);
+        result.setDb(config.getTarget() == null ? config.getDb() : "external");
+        result.setUsers(users.size());
+        result.setDurationSeconds(seconds);
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.getMix().forEach((operation, weight) -> mix.put(operation.label(), weight));
+        result.setMix(mix);
+        result.setTotal(all.summarize(seconds));
+        // Keyed by what actually ran: an update with no task left to update runs as a create.
+        merged.forEach((operation, recorder) -> {
+            LoadTestResult.OperationResult summary = recorder.summarize(seconds);
+            if (summary.getRequests() > 0) {
+                result.getOperations().put(operation.label(), summary);
+            }
+        });
+        return result;
+    }
+
+    private static void print(LoadTestResult result) {
+        System.out.printf("%n%-8s %9s %7s %9s %8s %8s %8s %8s%n",
+                "", "requests", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        result.getOperations().forEach(LoadTest::printRow);
+        printRow("total", result.getTotal());
+        System.out.println();
+    }
+
+    private static void printRow(String name, LoadTestResult.OperationResult row) {
+        System.out.printf("%-8s %9d %6.2f%% %9.1f %8.1f %8.1f %8.1f %8.1f%n", name, row.getRequests(),
+                row.getErrorRate() * 100, row.getThroughput(), row.getP50Ms(), row.getP90Ms(), row.getP99Ms(),
+                row.getMaxMs());
+    }
+
+    private int compareWithBaseline(LoadTestResult result) throws IOException {
+        if (config.getBaseline() == null) {
+            return 0;
+        }
+        LoadTestResult baseline = objectMapper.readValue(config.getBaseline().toFile(), LoadTestResult.class);
+        List<String> regressions = result.regressionsAgainst(baseline, config.getMaxRegression());
+        if (regressions.isEmpty()) {
+            System.out.printf("No regression over %.0f%% against %s%n", config.getMaxRegression() * 100,
+                    config.getBaseline());
+            return 0;
+        }
+        System.out.printf("Regressed by more than %.0f%% against %s:%n", config.getMaxRegression() * 100,
+                config.getBaseline());
+        regressions.forEach(regression -> System.out.println("  " + regression));
+        return 1;
+    }
+
+    /**
+     * Starts the backend on a free port with the given profiles, production settings unless
+     * told otherwise. The test resources are on this
+     * classpath, so the settings that differ from them are passed as arguments, which win.
+     */
+    private static ConfigurableApplicationContext startBackend(EmbeddedPostgres postgres, String[] profiles) throws IOException {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--app.upload.dir=" + Files.createTempDirectory("loadtest-uploads"),
+                "--app.search.indexDir=",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false"));
+        if (postgres != null) {
+            args.add("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"));
+            args.add("--spring.datasource.driverClassName=org.postgresql.Driver");
+            args.add("--spring.datasource.username=postgres");
+            args.add("--spring.datasource.password=");
+            args.add("--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect");
+            args.add("--spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/postgresql");
+        } else {
+            args.add("--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        }
+        return new SpringApplicationBuilder(TaskManagementApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles(profiles)
+                .run(args.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.taskmanagement.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, parsed from {@code --name=value} arguments. Anything not given keeps
+ * the default below.
+ */
+public class LoadTestConfig {
+
+    private static final String DEFAULT_MIX = "list:50,get:20,create:10,update:10,delete:5,upload:5";
+
+    private String target;
+    private String db = "h2";
+    private String[] profiles = {"prod"};
+    private int users = 16;
+    private int tasksPerUser = 20;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private Map<Operation, Integer> mix = parseMix(DEFAULT_MIX);
+    private int uploadBytes = 64 * 1024;
+    private Path result = Path.of("target", "loadtest-result.json");
+    private Path baseline;
+    private double maxRegression = 0.15;
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String value = entry.getValue();
+            switch (entry.getKey()) {
+                case "target" -> config.target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "db" -> {
+                    if (!value.equals("h2") && !value.equals("postgres")) {
+                        throw new IllegalArgumentException("db must be h2 or postgres");
+                    }
+                    config.db = value;
+                }
+                case "profiles" -> config.profiles = value.split(",");
+                case "users" -> config.users = positive(entry.getKey(), value);
+                case "tasksPerUser" -> config.tasksPerUser = positive(entry.getKey(), value);
+                case "warmup" -> config.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "duration" -> config.duration = Duration.ofSeconds(positive(entry.getKey(), value));
+                case "mix" -> config.mix = parseMix(value);
+                case "uploadBytes" -> config.uploadBytes = positive(entry.getKey(), value);
+                case "result" -> config.result = Path.of(value);
+                case "baseline" -> config.baseline = value.isEmpty() ? null : Path.of(value);
+                case "maxRegression" -> config.maxRegression = Double.parseDouble(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + entry.getKey());
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Parses a mix such as {@code list:50,create:10}. Weights are relative; operations left
+     * out are not run.
+     */
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight but got " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromName(pair[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no operations");
+        }
+        return mix;
+    }
+
+    private static int positive(String name, String value) {
+        int parsed = Integer.parseInt(value);
+        if (parsed <= 0) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+        return parsed;
+    }
+
+    /** Base URL of a running backend, or null to start one in this JVM. */
+    public String getTarget() {
+        return target;
+    }
+
+    public String getDb() {
+        return db;
+    }
+
+    /** Spring profiles of the in-process backend, for instance {@code prod,virtual-threads}. */
+    public String[] getProfiles() {
+        return profiles;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getTasksPerUser() {
+        return tasksPerUser;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+
+    public int getUploadBytes() {
+        return uploadBytes;
+    }
+
+    public Path getResult() {
+        return result;
+    }
+
+    public Path getBaseline() {
+        return baseline;
+    }
+
+    public double getMaxRegression() {
+        return maxRegression;
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.taskmanagement.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * What a run measured, as saved to the result file. A saved result can be passed back as the
+ * baseline of a later run.
+ */
+public class LoadTestResult {
+
+    // p99 changes smaller than this are noise on any machine and never count as a regression.
+    private static final double P99_NOISE_MS = 1.0;
+
+    private String timestamp;
+    private String target;
+    private String db;
+    private int users;
+    private double durationSeconds;
+    private Map<String, Integer> mix = new LinkedHashMap<>();
+    private OperationResult total;
+    private Map<String, OperationResult> operations = new LinkedHashMap<>();
+
+    /**
+     * Lists what got worse than {@code baseline} by more than {@code maxRegression} (0.15 is
+     * 15%): lower throughput, higher p99, or an error rate over a point higher. Empty if
+     * nothing did.
+     */
+    public List<String> regressionsAgainst(LoadTestResult baseline, double maxRegression) {
+        if (baseline.users != users || !Objects.equals(baseline.db, db) || !baseline.mix.equals(mix)) {
+            throw new IllegalStateException("The baseline was run with different users, db or mix ("
+                    + baseline.users + ", " + baseline.db + ", " + baseline.mix + ")");
+        }
+
+        List<String> regressions = new ArrayList<>();
+        Map<String, OperationResult> current = new LinkedHashMap<>(operations);
+        current.put("total", total);
+        for (Map.Entry<String, OperationResult> entry : current.entrySet()) {
+            OperationResult before = "total".equals(entry.getKey())
+                    ? baseline.total
+                    : baseline.operations.get(entry.getKey());
+            OperationResult after = entry.getValue();
+            if (before == null) {
+                continue;
+            }
+            if (after.throughput < before.throughput * (1 - maxRegression)) {
+                regressions.add(String.format("%s throughput %.1f -> %.1f ops/s",
+                        entry.getKey(), before.throughput, after.throughput));
+            }
+            if (after.p99Ms > before.p99Ms * (1 + maxRegression) && after.p99Ms - before.p99Ms > P99_NOISE_MS) {
+                regressions.add(String.format("%s p99 %.1f -> %.1f ms", entry.getKey(), before.p99Ms, after.p99Ms));
+            }
+            if (after.errorRate > before.errorRate + 0.01) {
+                regressions.add(String.format("%s error rate %.2f%% -> %.2f%%",
+                        entry.getKey(), before.errorRate * 100, after.errorRate * 100));
+            }
+        }
+        return regressions;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(String timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public String getDb() {
+        return db;
+    }
+
+    public void setDb(String db) {
+        this.db = db;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(double durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public Map<String, Integer> getMix() {
+        return mix;
+    }
+
+    public void setMix(Map<String, Integer> mix) {
+        this.mix = mix;
+    }
+
+    public OperationResult getTotal() {
+        return total;
+    }
+
+    public void setTotal(OperationResult total) {
+        this.total = total;
+    }
+
+    public Map<String, OperationResult> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(Map<String, OperationResult> operations) {
+        this.operations = operations;
+    }
+
+    public static class OperationResult {
+        private long requests;
+        private long errors;
+        private double errorRate;
+        private double throughput;
+        private double p50Ms;
+        private double p90Ms;
+        private double p99Ms;
+        private double maxMs;
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public void setRequests(long requests) {
+            this.requests = requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public void setErrors(long errors) {
+            this.errors = errors;
+        }
+
+        public double getErrorRate() {
+            return errorRate;
+        }
+
+        public void setErrorRate(double errorRate) {
+            this.errorRate = errorRate;
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public void setThroughput(double throughput) {
+            this.throughput = throughput;
+        }
+
+        public double getP50Ms() {
+            return p50Ms;
+        }
+
+        public void setP50Ms(double p50Ms) {
+            this.p50Ms = p50Ms;
+        }
+
+        public double getP90Ms() {
+            return p90Ms;
+        }
+
+        public void setP90Ms(double p90Ms) {
+            this.p90Ms = p90Ms;
+        }
+
+        public double getP99Ms() {
+            return p99Ms;
+        }
+
+        public void setP99Ms(double p99Ms) {
+            this.p99Ms = p99Ms;
+        }
+
+        public double getMaxMs() {
+            return maxMs;
+        }
+
+        public void setMaxMs(double maxMs) {
+            this.maxMs = maxMs;
+        }
+    }
+}
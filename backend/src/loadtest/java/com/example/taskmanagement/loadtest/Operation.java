@@ -0,0 +1,26 @@
+package com.example.taskmanagement.loadtest;
+
+import java.util.Locale;
+
+/** The calls a simulated user makes, named as in the {@code --mix} option. */
+public enum Operation {
+    LIST,
+    GET,
+    CREATE,
+    UPDATE,
+    DELETE,
+    /** A resumable upload: start the session, send the file as one chunk and complete it. */
+    UPLOAD;
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Operation fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown operation " + name);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.taskmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One registered account driving the API the way the board does. It only reads, edits and
+ * deletes its own tasks, so users never contend for the same rows.
+ */
+class VirtualUser {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private static final String[] STATUSES = { "PENDING", "IN_PROGRESS", "COMPLETED" };
+
+    private static final String[] PRIORITIES = { "LOW", "MEDIUM", "HIGH" };
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final byte[] upload;
+    private final List<Long> taskIds = new ArrayList<>();
+    private final Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+    private String token;
+    private int sequence;
+
+    VirtualUser(HttpClient client, ObjectMapper objectMapper, String baseUrl, String username, int uploadBytes) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.password = username + "-password";
+        this.upload = new byte[uploadBytes];
+        ThreadLocalRandom.current().nextBytes(upload);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+    }
+
+    void register() throws IOException, InterruptedException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("username", username);
+        body.put("email", username + "@loadtest.example.com");
+        body.put("password", password);
+        expectOk(send(post("/auth/register", body, false)), "register " + username);
+    }
+
+    void login() throws IOException, InterruptedException {
+        Map<String, Object> body = Map.of("username", username, "password", password);
+        HttpResponse<String> response = expectOk(send(post("/auth/login", body, false)), "log in " + username);
+        token = objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    void seed(int tasks) throws IOException, InterruptedException {
+        for (int i = 0; i < tasks; i++) {
+            HttpResponse<String> response = expectOk(send(post("/tasks", newTask(), true)), "seed tasks");
+            taskIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+        }
+    }
+
+    /**
+     * Runs one operation and records its latency if {@code measuring}. Operations on an
+     * existing task create one instead when this user has none left.
+     */
+    void run(Operation operation, boolean measuring) {
+        if (taskIds.isEmpty() && (operation == Operation.GET || operation == Operation.UPDATE
+                || operation == Operation.DELETE)) {
+            operation = Operation.CREATE;
+        }
+        long start = System.nanoTime();
+        boolean error;
+        try {
+            error = !perform(operation);
+        } catch (IOException e) {
+            error = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (measuring) {
+            recorders.get(operation).record(System.nanoTime() - start, error);
+        }
+    }
+
+    Map<Operation, LatencyRecorder> getRecorders() {
+        return recorders;
+    }
+
+    void resetRecorders() {
+        recorders.values().forEach(LatencyRecorder::reset);
+    }
+
+    private boolean perform(Operation operation) throws IOException, InterruptedException {
+        switch (operation) {
+            case LIST:
+                return isOk(sendAuthenticated(request("/tasks?size=50").GET()));
+            case GET:
+                return isOk(sendAuthenticated(request("/tasks/" + randomTaskId()).GET()));
+            case CREATE: {
+                HttpResponse<String> response = sendAuthenticated(post("/tasks", newTask(), true));
+                if (isOk(response)) {
+                    taskIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+                    return true;
+                }
+                return false;
+            }
+            case UPDATE: {
+                Map<String, Object> task = newTask();
+                task.put("status", STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)]);
+                return isOk(sendAuthenticated(request("/tasks/" + randomTaskId())
+                        .header("Content-Type", "application/json")
+                        .PUT(json(task))));
+            }
+            case DELETE: {
+                Long id = taskIds.remove(ThreadLocalRandom.current().nextInt(taskIds.size()));
+                return isOk(sendAuthenticated(request("/tasks/" + id).DELETE()));
+            }
+            case UPLOAD:
+                return upload();
+            default:
+                throw new IllegalStateException("Unhandled operation " + operation);
+        }
+    }
+
+    private boolean upload() throws IOException, InterruptedException {
+        Map<String, Object> body = Map.of("fileName", "load-" + (++sequence) + ".bin", "size", upload.length);
+        HttpResponse<String> session = sendAuthenticated(post("/files/uploads", body, true));
+        if (!isOk(session)) {
+            return false;
+        }
+        String path = "/files/uploads/" + objectMapper.readTree(session.body()).get("uploadId").asText();
+        if (!isOk(sendAuthenticated(request(path + "?offset=0")
+                .header("Content-Type", "application/octet-stream")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(upload))))) {
+            return false;
+        }
+        return isOk(sendAuthenticated(request(path + "/complete").POST(HttpRequest.BodyPublishers.noBody())));
+    }
+
+    private Map<String, Object> newTask() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> task = new LinkedHashMap<>();
+        task.put("title", "Load test task " + (++sequence));
+        task.put("description", "Created by " + username + " to exercise the task endpoints");
+        task.put("priority", PRIORITIES[random.nextInt(PRIORITIES.length)]);
+        return task;
+    }
+
+    private long randomTaskId() {
+        return taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+    }
+
+    private HttpRequest.Builder post(String path, Object body, boolean authenticated) throws IOException {
+        HttpRequest.Builder builder = request(path)
+                .header("Content-Type", "application/json")
+                .POST(json(body));
+        return authenticated ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    /** Sends with the current token, logging in again once if it has expired. */
+    private HttpResponse<String> sendAuthenticated(HttpRequest.Builder builder)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = send(builder.setHeader("Authorization", "Bearer " + token));
+        if (response.statusCode() == 401) {
+            login();
+            response = send(builder.setHeader("Authorization", "Bearer " + token));
+        }
+        return response;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean isOk(HttpResponse<String> response) {
+        return response.statusCode() < 400;
+    }
+
+    private static HttpResponse<String> expectOk(HttpResponse<String> response, String action) {
+        if (!isOk(response)) {
+            throw new IllegalStateException("Could not " + action + ": " + response.statusCode() + " "
+                    + response.body());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.taskmanagement.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+import org.slf4j.spi.LocationAwareLogger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lets through at most {@code maxPerInterval} events per message pattern in each interval and
+ * drops the rest before they are formatted or queued, so a client hammering an endpoint with a
+ * bad token cannot flood the log. The first event of the next interval is preceded by a count
+ * of what was dropped. Only loggers under {@code loggerPrefix} are limited.
+ */
+public class LogRateLimitFilter extends TurboFilter {
+
+    private static final String FQCN = LogRateLimitFilter.class.getName();
+
+    private static final String SUPPRESSED = "Suppressed {} repetitions of \"{}\" in the last {} ms";
+
+    // Patterns built by concatenation would never repeat; past this many, new ones pass unlimited.
+    private static final int MAX_PATTERNS = 1000;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    private String loggerPrefix = "";
+
+    private int maxPerInterval = 20;
+
+    private long intervalMillis = 10_000;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        // A null format is an isEnabled() check; disabled levels are rejected later anyway. The
+        // summary below is logged with the SUPPRESSED constant itself and is never limited.
+        if (format == null || !isStarted() || !level.isGreaterOrEqual(logger.getEffectiveLevel())
+                || !logger.getName().startsWith(loggerPrefix) || format == SUPPRESSED) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.get(format);
+        if (window == null) {
+            if (windows.size() >= MAX_PATTERNS) {
+                return FilterReply.NEUTRAL;
+            }
+            window = windows.computeIfAbsent(format, key -> new Window());
+        }
+
+        long now = System.currentTimeMillis();
+        int dropped = window.rollIfExpired(now, intervalMillis);
+        if (dropped > 0) {
+            logger.log(marker, FQCN, LocationAwareLogger.WARN_INT, SUPPRESSED,
+                    new Object[] { dropped, format, intervalMillis }, null);
+        }
+        if (window.passed.incrementAndGet() <= maxPerInterval) {
+            return FilterReply.NEUTRAL;
+        }
+        window.dropped.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setMaxPerInterval(int maxPerInterval) {
+        this.maxPerInterval = maxPerInterval;
+    }
+
+    public void setIntervalMillis(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    private static class Window {
+        private volatile long start = System.currentTimeMillis();
+        private final AtomicInteger passed = new AtomicInteger();
+        private final AtomicInteger dropped = new AtomicInteger();
+
+        /**
+         * Starts a new interval if the current one is over and returns how many events the
+         * finished interval dropped; 0 otherwise.
+         */
+        int rollIfExpired(long now, long intervalMillis) {
+            if (now - start < intervalMillis) {
+                return 0;
+            }
+            synchronized (this) {
+                if (now - start < intervalMillis) {
+                    return 0;
+                }
+                start = now;
+                passed.set(0);
+                return dropped.getAndSet(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.taskmanagement.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementMetricsCustomizer(SqlStatementMetrics sqlStatementMetrics) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementMetrics);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.taskmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read replicas, only set up when {@code app.datasource.replicaUrls} lists at least one.
+ * Each replica gets its own pool configured like the primary's, named replica-0, replica-1
+ * and so on, and logs in with the primary's credentials.
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replicaUrls")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.datasource.replicaUrls}") List<String> replicaUrls,
+            @Value("${app.datasource.replicaLagQuery}") String lagQuery,
+            @Value("${app.datasource.replicaMaxLagMs:1000}") long maxLagMillis,
+            @Value("${app.datasource.readYourWritesMs:5000}") long readYourWritesMillis,
+            @Value("${app.datasource.replicaCheckIntervalMs:1000}") long checkIntervalMillis) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setJdbcUrl(url.trim());
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            meterRegistry.ifAvailable(registry -> replica.setMetricsTrackerFactory(
+                    new MicrometerMetricsTrackerFactory(registry)));
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas, lagQuery,
+                maxLagMillis, Duration.ofMillis(readYourWritesMillis), Duration.ofMillis(checkIntervalMillis));
+        meterRegistry.ifAvailable(registry -> replicas.keySet().forEach(name -> Gauge
+                .builder("datasource.replica.lag", routing, source -> source.getLagMillis(name))
+                .tag("replica", name)
+                .baseUnit("milliseconds")
+                .description("Last measured replica lag, -1 when it did not answer or the measurement is stale")
+                .register(registry)));
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Hibernate would otherwise keep the first connection for the whole request (open session
+     * in view), so a write after a read-only transaction would reuse the replica connection.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.taskmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas in turn and everything else to the primary.
+ * A replica is skipped while it is unreachable or further behind than {@code maxLagMillis},
+ * and a user who has just committed a write reads from the primary for a while, so they see
+ * their own changes. Has to sit behind a {@code LazyConnectionDataSourceProxy}: whether a
+ * transaction is read-only is only known after it has begun.
+ * <p>
+ * A read-only transaction that feeds a cache, an ETag or a job that deletes things calls
+ * {@link #usePrimary()} first: a lagging copy would otherwise be kept or acted on long after
+ * the replica has caught up.
+ * <p>
+ * Lag is measured on a thread of its own, so slow scheduled jobs cannot hold it up. A
+ * measurement older than {@value #STALE_AFTER_CHECKS} check intervals counts as no answer.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private static final Object USE_PRIMARY = new Object();
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final int STALE_AFTER_CHECKS = 3;
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Cache<String, Boolean> recentWriters;
+
+    private final String lagQuery;
+
+    private final long maxLagMillis;
+
+    private final Duration checkInterval;
+
+    private final ScheduledExecutorService lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, String lagQuery,
+            long maxLagMillis, Duration readYourWrites, Duration checkInterval) {
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(readYourWrites).build();
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.checkInterval = checkInterval;
+    }
+
+    /** Starts measuring the replicas' lag every check interval. */
+    public void start() {
+        lagChecker.scheduleWithFixedDelay(this::checkReplicas, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        lagChecker.shutdownNow();
+    }
+
+    /**
+     * Sends the current transaction to the primary even though it is read-only, without making
+     * the user a recent writer. Has to be called before the transaction's first statement;
+     * outside a transaction it does nothing.
+     */
+    public static void usePrimary() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(USE_PRIMARY)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(USE_PRIMARY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(USE_PRIMARY);
+            }
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(user, Boolean.TRUE);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (TransactionSynchronizationManager.hasResource(USE_PRIMARY)
+                || user != null && recentWriters.getIfPresent(user) != null) {
+            return PRIMARY;
+        }
+
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            long lag = currentLag(replica);
+            if (lag >= 0 && lag <= maxLagMillis) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Measures each replica's lag. Until a replica has answered it gets no reads, and a
+     * failure takes it out of rotation until it answers again.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            long lag;
+            try (Connection connection = replica.dataSource.getConnection();
+                    Statement statement = connection.createStatement();
+                    ResultSet result = statement.executeQuery(lagQuery)) {
+                lag = result.next() ? Math.max(result.getLong(1), 0) : 0;
+            } catch (SQLException | RuntimeException e) {
+                if (replica.lagMillis >= 0) {
+                    logger.warn("Replica {} is unreachable, reading from the primary: {}", replica.name,
+                            e.getMessage());
+                }
+                replica.lagMillis = -1;
+                replica.checkedAt = System.nanoTime();
+                continue;
+            }
+            long previous = currentLag(replica);
+            boolean wasUsable = previous >= 0 && previous <= maxLagMillis;
+            if (wasUsable && lag > maxLagMillis) {
+                logger.warn("Replica {} is {} ms behind, reading from the primary", replica.name, lag);
+            } else if (!wasUsable && lag <= maxLagMillis) {
+                logger.info("Replica {} is back in rotation", replica.name);
+            }
+            replica.lagMillis = lag;
+            replica.checkedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Last measured lag of a replica in milliseconds, or -1 if it did not answer or has not
+     * been measured recently.
+     */
+    public long getLagMillis(String name) {
+        return replicas.stream()
+                .filter(replica -> replica.name.equals(name))
+                .findFirst()
+                .map(this::currentLag)
+                .orElseThrow(() -> new IllegalArgumentException("No replica " + name));
+    }
+
+    private long currentLag(Replica replica) {
+        long lag = replica.lagMillis;
+        long age = System.nanoTime() - replica.checkedAt;
+        return age <= checkInterval.multipliedBy(STALE_AFTER_CHECKS).toNanos() ? lag : -1;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        // Written by one thread; a reader may pair a new lag with the previous check time.
+        private volatile long lagMillis = -1;
+        private volatile long checkedAt;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.taskmanagement.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Scheduled jobs run on a platform thread in both threading modes. With
+     * {@code spring.threads.virtual.enabled} Spring Boot would otherwise run them on virtual
+     * threads, and the search index commit waits for Lucene merges inside the IndexWriter's
+     * monitors: that pins the carrier, and on a single core it stops every request until the
+     * merge is done.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+}
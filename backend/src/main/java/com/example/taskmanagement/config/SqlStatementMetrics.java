@@ -0,0 +1,60 @@
+package com.example.taskmanagement.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements Hibernate prepares while a request is handled, authentication
+ * included, and records the count per endpoint as {@code http.server.sql.statements}.
+ * Work handed to other threads (SSE, exports) is not attributed to the request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class SqlStatementMetrics extends OncePerRequestFilter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = CURRENT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long[] count = new long[1];
+        CURRENT.set(count);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("http.server.sql.statements")
+                    .description("SQL statements prepared per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .register(meterRegistry)
+                    .record(count[0]);
+        }
+    }
+}
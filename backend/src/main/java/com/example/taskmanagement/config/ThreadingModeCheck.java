@@ -0,0 +1,31 @@
+package com.example.taskmanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spring Boot silently ignores {@code spring.threads.virtual.enabled} below Java 21, which would
+ * make a load test of the virtual-thread mode measure the platform-thread pool instead.
+ */
+@Component
+public class ThreadingModeCheck {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingModeCheck.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        int feature = Runtime.version().feature();
+        if (virtualThreadsEnabled && feature < 21) {
+            logger.warn("Virtual threads requested but running on Java {}; requests use platform threads", feature);
+        } else {
+            logger.info("Request handling on {} threads", virtualThreadsEnabled ? "virtual" : "platform");
+        }
+    }
+}
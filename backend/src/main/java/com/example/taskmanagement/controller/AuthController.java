@@ -1,13 +1,18 @@
 package com.example.taskmanagement.controller;
 
 import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.exception.ServiceUnavailableException;
 import com.example.taskmanagement.payload.JwtResponse;
 import com.example.taskmanagement.payload.LoginRequest;
 import com.example.taskmanagement.payload.MessageResponse;
 import com.example.taskmanagement.payload.SignupRequest;
+import com.example.taskmanagement.payload.TokenRefreshRequest;
 import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.PrincipalCache;
+import com.example.taskmanagement.security.TokenRevocationList;
 import com.example.taskmanagement.security.UserDetailsImpl;
 import com.example.taskmanagement.security.JwtUtils;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,9 +26,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
@@ -42,6 +44,12 @@ public class AuthController {
         @Autowired
         JwtUtils jwtUtils;
 
+        @Autowired
+        PrincipalCache principalCache;
+
+        @Autowired
+        TokenRevocationList revocationList;
+
         @PostMapping("/login")
         public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
                 try {
@@ -54,19 +62,14 @@ public class AuthController {
                         String jwt = jwtUtils.generateJwtToken(authentication);
 
                         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-                        List<String> roles = userDetails.getAuthorities().stream()
-                                        .map(item -> item.getAuthority())
-                                        .collect(Collectors.toList());
-
-                        return ResponseEntity.ok(new JwtResponse(jwt,
-                                        userDetails.getId(),
-                                        userDetails.getUsername(),
-                                        userDetails.getEmail(),
-                                        userDetails.getRole()));
+
+                        return ResponseEntity.ok(tokenResponse(jwt, userDetails));
                 } catch (BadCredentialsException e) {
                         logger.error("BadCredentialsException: {}", e.getMessage());
                         return ResponseEntity.status(401)
                                         .body(new MessageResponse("Error: Invalid username or password"));
+                } catch (ServiceUnavailableException e) {
+                        throw e;
                 } catch (Exception e) {
                         logger.error("Login Error: {}", e.getMessage());
                         return ResponseEntity.internalServerError()
@@ -98,4 +101,52 @@ public class AuthController {
 
                 return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
         }
+
+        /**
+         * Exchanges a refresh token for a new access and refresh token pair. The presented
+         * refresh token is revoked, so each one can be used once. The account is re-read, so
+         * a password or role change since the token was issued ends the session.
+         */
+        @PostMapping("/refresh")
+        public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
+                Claims claims = jwtUtils.parseAndValidate(request.getRefreshToken());
+                if (claims == null || !JwtUtils.isRefreshToken(claims) || revocationList.isRevoked(claims)) {
+                        return ResponseEntity.status(401).body(new MessageResponse("Error: Invalid refresh token"));
+                }
+
+                UserDetailsImpl userDetails = principalCache.resolve(claims);
+                if (userDetails == null || !revocationList.revoke(claims)) {
+                        return ResponseEntity.status(401).body(new MessageResponse("Error: Invalid refresh token"));
+                }
+
+                return ResponseEntity.ok(tokenResponse(jwtUtils.generateJwtToken(userDetails), userDetails));
+        }
+
+        @PostMapping("/logout")
+        public ResponseEntity<?> logoutUser(@RequestHeader(value = "Authorization", required = false) String authorization,
+                        @RequestBody(required = false) TokenRefreshRequest request) {
+                if (authorization != null && authorization.startsWith("Bearer ")) {
+                        Claims claims = jwtUtils.parseAndValidate(authorization.substring(7));
+                        if (claims != null) {
+                                revocationList.revoke(claims);
+                        }
+                }
+                if (request != null && request.getRefreshToken() != null) {
+                        Claims claims = jwtUtils.parseAndValidate(request.getRefreshToken());
+                        if (claims != null && JwtUtils.isRefreshToken(claims)) {
+                                revocationList.revoke(claims);
+                        }
+                }
+                return ResponseEntity.ok(new MessageResponse("Logged out successfully!"));
+        }
+
+        private JwtResponse tokenResponse(String accessToken, UserDetailsImpl userDetails) {
+                return new JwtResponse(accessToken,
+                                jwtUtils.generateRefreshToken(userDetails),
+                                jwtUtils.getJwtExpirationMs() / 1000,
+                                userDetails.getId(),
+                                userDetails.getUsername(),
+                                userDetails.getEmail(),
+                                userDetails.getRole());
+        }
 }
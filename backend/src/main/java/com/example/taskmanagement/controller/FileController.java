@@ -1,34 +1,39 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.payload.upload.UploadSessionRequest;
+import com.example.taskmanagement.payload.upload.UploadSessionResponse;
+import com.example.taskmanagement.security.UserDetailsImpl;
+import com.example.taskmanagement.service.AttachmentStorageService;
+import com.example.taskmanagement.service.UploadMetrics;
+import com.example.taskmanagement.service.UploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/files")
 public class FileController {
 
-    private final Path fileStorageLocation;
+    @Autowired
+    private AttachmentStorageService storageService;
 
-    public FileController() {
-        this.fileStorageLocation = Paths.get("uploads").toAbsolutePath().normalize();
-        try {
-            Files.createDirectories(this.fileStorageLocation);
-        } catch (Exception ex) {
-            throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
-        }
-    }
+    @Autowired
+    private UploadSessionService uploadSessionService;
+
+    @Autowired
+    private UploadMetrics uploadMetrics;
 
     @PostMapping("/upload")
     public ResponseEntity<Map<String, String>> uploadFile(@RequestParam("file") MultipartFile file) {
@@ -39,28 +44,73 @@ public class FileController {
                 throw new RuntimeException("Sorry! Filename contains invalid path sequence " + fileName);
             }
 
-            String fileExtension = "";
-            int dotIndex = fileName.lastIndexOf('.');
-            if (dotIndex > 0) {
-                fileExtension = fileName.substring(dotIndex);
+            String uniqueFileName;
+            try (InputStream in = file.getInputStream()) {
+                uniqueFileName = storageService.store(in, fileName);
             }
-            String uniqueFileName = UUID.randomUUID().toString() + fileExtension;
-
-            Path targetLocation = this.fileStorageLocation.resolve(uniqueFileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            String fileDownloadUri = ServletUriComponentsBuilder.fromCurrentContextPath()
-                    .path("/uploads/")
-                    .path(uniqueFileName)
-                    .toUriString();
+            uploadMetrics.record(UploadMetrics.MULTIPART, file.getSize(), 0);
 
-            Map<String, String> response = new HashMap<>();
-            response.put("fileName", uniqueFileName);
-            response.put("fileUrl", fileDownloadUri);
-
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(storedFile(uniqueFileName));
         } catch (IOException ex) {
             throw new RuntimeException("Could not store file " + fileName + ". Please try again!", ex);
         }
     }
+
+    /**
+     * Starts a resumable upload. Chunks are then sent with PUT at their byte offset, in any
+     * order, and the upload is finished with POST .../complete.
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<UploadSessionResponse> createUploadSession(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @Valid @RequestBody UploadSessionRequest request) throws IOException {
+        UploadSessionResponse session = uploadSessionService.createSession(userDetails.getUsername(), request);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{uploadId}")
+                .buildAndExpand(session.getUploadId())
+                .toUri();
+        return ResponseEntity.created(location).body(session);
+    }
+
+    @PutMapping("/uploads/{uploadId}")
+    public ResponseEntity<UploadSessionResponse> uploadChunk(@AuthenticationPrincipal UserDetailsImpl userDetails,
+            @PathVariable String uploadId, @RequestParam long offset, HttpServletRequest request)
+            throws IOException {
+        try (InputStream body = request.getInputStream()) {
+            return ResponseEntity.ok(uploadSessionService.writeChunk(userDetails.getUsername(), uploadId, offset,
+                    request.getContentLengthLong(), body));
+        }
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<UploadSessionResponse> getUploadSession(@AuthenticationPrincipal UserDetailsImpl userDetails,
+            @PathVariable String uploadId) {
+        return ResponseEntity.ok(uploadSessionService.getSession(userDetails.getUsername(), uploadId));
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<Map<String, String>> completeUploadSession(
+            @AuthenticationPrincipal UserDetailsImpl userDetails, @PathVariable String uploadId) throws IOException {
+        String fileName = uploadSessionService.completeSession(userDetails.getUsername(), uploadId);
+        return ResponseEntity.ok(storedFile(fileName));
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> abortUploadSession(@AuthenticationPrincipal UserDetailsImpl userDetails,
+            @PathVariable String uploadId) throws IOException {
+        uploadSessionService.abortSession(userDetails.getUsername(), uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static Map<String, String> storedFile(String fileName) {
+        String fileDownloadUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/uploads/")
+                .path(fileName)
+                .toUriString();
+
+        Map<String, String> response = new HashMap<>();
+        response.put("fileName", fileName);
+        response.put("fileUrl", fileDownloadUri);
+        return response;
+    }
 }
@@ -1,20 +1,45 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.exception.BadRequestException;
+import com.example.taskmanagement.payload.task.TaskBatchResult;
+import com.example.taskmanagement.payload.task.TaskBatchUpdateRequest;
+import com.example.taskmanagement.payload.task.TaskChanges;
+import com.example.taskmanagement.payload.task.TaskFilter;
+import com.example.taskmanagement.payload.task.TaskPage;
 import com.example.taskmanagement.payload.task.TaskRequest;
 import com.example.taskmanagement.payload.task.TaskResponse;
+import com.example.taskmanagement.payload.task.TaskSearchHit;
+import com.example.taskmanagement.payload.task.TaskStats;
 import com.example.taskmanagement.security.UserDetailsImpl;
+import com.example.taskmanagement.service.TaskEventBroadcaster;
 import com.example.taskmanagement.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/tasks")
@@ -22,20 +47,152 @@ public class TaskController {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    // Lets browsers keep the body but revalidate with If-None-Match on every request.
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskEventBroadcaster eventBroadcaster;
+
+    /**
+     * Lists tasks. The weak ETag combines the collection version with the user and the query,
+     * so a matching If-None-Match is answered with 304 before the page is loaded.
+     */
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAllTasks(@AuthenticationPrincipal UserDetailsImpl userDetails) {
-        List<TaskResponse> tasks = taskService.getAllTasks(userDetails.getId());
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<TaskResponse>> getAllTasks(@AuthenticationPrincipal UserDetailsImpl userDetails,
+            TaskFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            HttpServletRequest request, WebRequest webRequest) {
+        String query = request.getQueryString() != null ? request.getQueryString() : "";
+        String etagSuffix = "-" + userDetails.getId() + "-" + Integer.toHexString(query.hashCode()) + "\"";
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TaskPage page = taskService.getAllTasks(userDetails.getId(), filter, cursor, pageSize,
+                version -> webRequest.checkNotModified("W/\"" + version + etagSuffix));
+        if (page.getItems() == null) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(REVALIDATE);
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Delta sync: tasks created or updated and ids of tasks deleted after {@code since}, so a
+     * client that already holds the list only downloads what changed.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChanges> getChanges(@AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(taskService.getChanges(userDetails.getId(), since, pageSize));
+    }
+
+    /**
+     * Full-text search over titles and descriptions, ranked, with highlighted excerpts. Accepts
+     * the same filters as the list.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskSearchHit>> searchTasks(@AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestParam String q, TaskFilter filter,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank()) {
+            throw new BadRequestException("Search query must not be empty");
+        }
+        int size = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        return ResponseEntity.ok(taskService.searchTasks(userDetails.getId(), q, filter, size));
+    }
+
+    /**
+     * Task counts by status, priority and assignee, plus overdue open tasks, without a scan of
+     * the tasks table.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getStats() {
+        return ResponseEntity.ok(taskService.getStats());
+    }
+
+    /**
+     * Server-sent events for every committed create, update and delete. A reconnecting client
+     * sends Last-Event-ID and receives what it missed, or a resync event if that is too old.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTasks(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                // Keeps reverse proxies from buffering the stream.
+                .header("X-Accel-Buffering", "no")
+                .body(eventBroadcaster.subscribe(lastEventId));
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(TaskFilter filter,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        TaskExportWriter.Format exportFormat = "csv".equalsIgnoreCase(format)
+                ? TaskExportWriter.Format.CSV
+                : TaskExportWriter.Format.NDJSON;
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            OutputStream buffered = new BufferedOutputStream(out, 16384);
+            TaskExportWriter writer = new TaskExportWriter(buffered, exportFormat, objectMapper.writer());
+            writer.writeHeader();
+            taskService.exportTasks(filter, writer);
+            buffered.flush();
+            if (gzip) {
+                ((GZIPOutputStream) out).finish();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * The two reads may be answered by different replicas, so the ETag sent with the task is
+     * taken from the task itself: a client never keeps an older body under a newer tag.
+     */
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponse> getTaskById(@AuthenticationPrincipal UserDetailsImpl userDetails,
-            @PathVariable Long id) {
+            @PathVariable Long id, WebRequest webRequest, HttpServletResponse response) {
+        LocalDateTime updatedAt = taskService.getTaskUpdatedAt(userDetails.getId(), id);
+        if (updatedAt != null && webRequest.checkNotModified(taskETag(id, updatedAt))) {
+            return null;
+        }
+
         TaskResponse task = taskService.getTaskById(userDetails.getId(), id);
-        return ResponseEntity.ok(task);
+        if (task.getUpdatedAt() != null) {
+            // Replaces the tag checkNotModified() has set.
+            response.setHeader(HttpHeaders.ETAG, taskETag(id, task.getUpdatedAt()));
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(task);
     }
 
     @PostMapping
@@ -52,12 +209,31 @@ public class TaskController {
         return ResponseEntity.created(location).body(createdTask);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> createTasks(@AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestBody List<TaskRequest> taskRequests) {
+        checkBatchSize(taskRequests);
+        return ResponseEntity.ok(taskService.createTasks(userDetails.getId(), taskRequests));
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> updateTasks(@AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestBody List<TaskBatchUpdateRequest> taskRequests) {
+        checkBatchSize(taskRequests);
+        return ResponseEntity.ok(taskService.updateTasks(userDetails.getId(), taskRequests));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> deleteTasks(@AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestBody List<Long> taskIds) {
+        checkBatchSize(taskIds);
+        return ResponseEntity.ok(taskService.deleteTasks(userDetails.getId(), taskIds));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> updateTask(@AuthenticationPrincipal UserDetailsImpl userDetails,
             @PathVariable Long id, @Valid @RequestBody TaskRequest taskRequest) {
-        logger.info("Received Update Request for ID: {}", id);
-        logger.info("Payload Title: {}", taskRequest.getTitle());
-        logger.info("Payload Attachments: {}", taskRequest.getAttachments());
+        logger.debug("Updating task {}", id);
         TaskResponse updatedTask = taskService.updateTask(userDetails.getId(), id, taskRequest);
         return ResponseEntity.ok(updatedTask);
     }
@@ -68,4 +244,49 @@ public class TaskController {
         taskService.deleteTask(userDetails.getId(), id);
         return ResponseEntity.noContent().build();
     }
+
+    private void checkBatchSize(List<?> items) {
+        if (items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " items");
+        }
+    }
+
+    /**
+     * Whether Accept-Encoding allows gzip: listed as {@code gzip} or {@code x-gzip}, or covered by
+     * {@code *}, with a q-value above zero. An explicit entry wins over {@code *}.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if (name.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return quality != null && quality > 0;
+    }
+
+    private static String taskETag(Long id, LocalDateTime updatedAt) {
+        long epochNanos = TimeUnit.SECONDS.toNanos(updatedAt.toEpochSecond(ZoneOffset.UTC)) + updatedAt.getNano();
+        return "W/\"" + id + "-" + epochNanos + "\"";
+    }
 }
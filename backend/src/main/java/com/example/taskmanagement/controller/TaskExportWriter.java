@@ -0,0 +1,102 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.payload.task.TaskResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes tasks one at a time to the response stream as NDJSON or CSV.
+ */
+public class TaskExportWriter implements Consumer<TaskResponse> {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final byte[] NEWLINE = { '\n' };
+
+    private static final String CSV_HEADER = "id,title,description,status,priority,createdAt,updatedAt,dueDate,"
+            + "assignedUserId,assignedUsername,attachments\n";
+
+    private final OutputStream out;
+    private final Format format;
+    private final ObjectWriter jsonWriter;
+
+    public TaskExportWriter(OutputStream out, Format format, ObjectWriter jsonWriter) {
+        this.out = out;
+        this.format = format;
+        this.jsonWriter = jsonWriter.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    public void writeHeader() throws IOException {
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public void accept(TaskResponse task) {
+        try {
+            if (format == Format.NDJSON) {
+                jsonWriter.writeValue(out, task);
+                out.write(NEWLINE);
+            } else {
+                out.write(toCsvRow(task).getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toCsvRow(TaskResponse task) {
+        List<String> attachments = task.getAttachments();
+        StringBuilder row = new StringBuilder(128);
+        appendCsv(row, task.getId()).append(',');
+        appendCsv(row, task.getTitle()).append(',');
+        appendCsv(row, task.getDescription()).append(',');
+        appendCsv(row, task.getStatus()).append(',');
+        appendCsv(row, task.getPriority()).append(',');
+        appendCsv(row, task.getCreatedAt()).append(',');
+        appendCsv(row, task.getUpdatedAt()).append(',');
+        appendCsv(row, task.getDueDate()).append(',');
+        appendCsv(row, task.getAssignedUserId()).append(',');
+        appendCsv(row, task.getAssignedUsername()).append(',');
+        appendCsv(row, attachments != null ? String.join(" ", attachments) : null);
+        return row.append('\n').toString();
+    }
+
+    private static StringBuilder appendCsv(StringBuilder row, Object value) {
+        if (value == null) {
+            return row;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return row.append(text);
+        }
+        return row.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+}
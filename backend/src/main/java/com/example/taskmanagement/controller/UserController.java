@@ -1,11 +1,14 @@
 package com.example.taskmanagement.controller;
 
 import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.payload.user.UserSummary;
 import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.UserDirectory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -14,12 +17,28 @@ import java.util.List;
 @RequestMapping("/users")
 public class UserController {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDirectory userDirectory;
+
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
+
+    /**
+     * Users whose username or email starts with {@code q}, as id/username pairs, answered
+     * from the in-memory directory.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("isAuthenticated()")
+    public List<UserSummary> searchUsers(@RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return userDirectory.search(q, Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)));
+    }
 }
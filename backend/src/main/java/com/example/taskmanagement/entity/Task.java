@@ -1,6 +1,8 @@
 package com.example.taskmanagement.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -9,9 +11,15 @@ import java.util.List;
 
 @Entity
 @Table(name = "tasks")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
 public class Task {
+    /**
+     * Sequence-generated (pooled, 50 ids per round-trip) rather than IDENTITY, so Hibernate
+     * knows ids before the INSERT and can group bulk inserts into JDBC batches.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -38,6 +46,7 @@ public class Task {
     private LocalDateTime dueDate;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task-attachments")
     @CollectionTable(name = "task_attachments", joinColumns = @JoinColumn(name = "task_id"))
     @Column(name = "file_url")
     private List<String> attachments;
@@ -109,6 +118,14 @@ public class Task {
         return updatedAt;
     }
 
+    /**
+     * Marks the task as modified even when only its attachments changed, which on their own
+     * would not move {@code updatedAt}.
+     */
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     public LocalDateTime getDueDate() {
         return dueDate;
     }
@@ -0,0 +1,44 @@
+package com.example.taskmanagement.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tombstone for a deleted task, kept for a limited time so delta-syncing clients can drop it.
+ */
+@Entity
+@Table(name = "task_deletions")
+public class TaskDeletion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_deletions_seq")
+    @SequenceGenerator(name = "task_deletions_seq", sequenceName = "task_deletions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long taskId;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
+    public TaskDeletion() {
+    }
+
+    public TaskDeletion(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
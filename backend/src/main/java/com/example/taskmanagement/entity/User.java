@@ -1,11 +1,21 @@
 package com.example.taskmanagement.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
+/**
+ * Read on nearly every request and rarely written, so rows are kept in the "users"
+ * second-level cache region.
+ */
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@EntityListeners({ UserSecurityListener.class, UserDirectoryListener.class })
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,6 +32,13 @@ public class User {
 
     private String role;
 
+    /**
+     * Bumped whenever the username, role or password changes. Issued tokens carry the value they were
+     * minted with, so a mismatch means the token no longer reflects the account.
+     */
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long securityVersion;
+
     @com.fasterxml.jackson.annotation.JsonIgnore
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Task> tasks = new ArrayList<>();
@@ -49,6 +66,9 @@ public class User {
     }
 
     public void setUsername(String username) {
+        if (!Objects.equals(this.username, username)) {
+            securityVersion++;
+        }
         this.username = username;
     }
 
@@ -65,6 +85,17 @@ public class User {
     }
 
     public void setPassword(String password) {
+        if (!Objects.equals(this.password, password)) {
+            securityVersion++;
+        }
+        this.password = password;
+    }
+
+    /**
+     * Replaces the stored hash with a new encoding of the same password without touching the
+     * security version.
+     */
+    public void upgradePasswordHash(String password) {
         this.password = password;
     }
 
@@ -73,9 +104,16 @@ public class User {
     }
 
     public void setRole(String role) {
+        if (!Objects.equals(this.role, role)) {
+            securityVersion++;
+        }
         this.role = role;
     }
 
+    public long getSecurityVersion() {
+        return securityVersion;
+    }
+
     public List<Task> getTasks() {
         return tasks;
     }
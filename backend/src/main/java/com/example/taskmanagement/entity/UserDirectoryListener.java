@@ -0,0 +1,31 @@
+package com.example.taskmanagement.entity;
+
+import com.example.taskmanagement.service.UserDirectory;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the in-memory user directory in step with registrations, renames and deletions.
+ */
+@Component
+public class UserDirectoryListener {
+
+    @Autowired
+    @Lazy
+    private UserDirectory userDirectory;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(User user) {
+        userDirectory.put(user.getId(), user.getUsername(), user.getEmail());
+    }
+
+    @PostRemove
+    public void onRemove(User user) {
+        userDirectory.remove(user.getId());
+    }
+}
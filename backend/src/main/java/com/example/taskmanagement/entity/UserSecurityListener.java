@@ -0,0 +1,26 @@
+package com.example.taskmanagement.entity;
+
+import com.example.taskmanagement.security.PrincipalCache;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached principals when a change to a user row or its removal commits, instead of
+ * waiting for the cache TTL. The cache is keyed by id, so renames are covered too.
+ */
+@Component
+public class UserSecurityListener {
+
+    @Autowired
+    @Lazy
+    private PrincipalCache principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        principalCache.evict(user.getId());
+    }
+}
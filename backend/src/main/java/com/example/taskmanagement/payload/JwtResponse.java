@@ -5,6 +5,8 @@ import java.util.List;
 public class JwtResponse {
     private String token;
     private String type = "Bearer";
+    private String refreshToken;
+    private long expiresIn;
     private Long id;
     private String username;
     private String email;
@@ -18,6 +20,13 @@ public class JwtResponse {
         this.role = role;
     }
 
+    public JwtResponse(String accessToken, String refreshToken, long expiresIn, Long id, String username,
+            String email, String role) {
+        this(accessToken, id, username, email, role);
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+
     public String getAccessToken() {
         return token;
     }
@@ -34,6 +43,25 @@ public class JwtResponse {
         this.type = tokenType;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    /**
+     * Lifetime of the access token in seconds.
+     */
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,16 @@
+package com.example.taskmanagement.payload;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class TokenRefreshRequest {
+    @NotBlank
+    private String refreshToken;
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
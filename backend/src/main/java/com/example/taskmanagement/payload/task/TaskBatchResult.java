@@ -0,0 +1,72 @@
+package com.example.taskmanagement.payload.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a batch request. {@code index} is the item's position in the
+ * request array and {@code status} the HTTP status the item would have had on its own.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchResult {
+    private int index;
+    private int status;
+    private Long id;
+    private TaskResponse task;
+    private String message;
+
+    public TaskBatchResult(int index, int status, Long id, TaskResponse task, String message) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.task = task;
+        this.message = message;
+    }
+
+    public static TaskBatchResult success(int index, int status, TaskResponse task) {
+        return new TaskBatchResult(index, status, task != null ? task.getId() : null, task, null);
+    }
+
+    public static TaskBatchResult failure(int index, int status, Long id, String message) {
+        return new TaskBatchResult(index, status, id, null, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TaskResponse getTask() {
+        return task;
+    }
+
+    public void setTask(TaskResponse task) {
+        this.task = task;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
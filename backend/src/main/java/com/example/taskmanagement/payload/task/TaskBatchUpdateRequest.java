@@ -0,0 +1,16 @@
+package com.example.taskmanagement.payload.task;
+
+import jakarta.validation.constraints.NotNull;
+
+public class TaskBatchUpdateRequest extends TaskRequest {
+    @NotNull(message = "Id is required")
+    private Long id;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
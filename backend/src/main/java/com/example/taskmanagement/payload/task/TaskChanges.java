@@ -0,0 +1,50 @@
+package com.example.taskmanagement.payload.task;
+
+import java.util.List;
+
+/**
+ * Tasks created or updated and ids of tasks deleted since a watermark. When {@code resync} is
+ * set the client has fallen too far behind (or passed no watermark) and should reload the full
+ * list, then continue from {@code watermark}.
+ */
+public class TaskChanges {
+    private final List<TaskResponse> changed;
+    private final List<Long> deleted;
+    private final long watermark;
+    private final boolean resync;
+    private final String nextCursor;
+
+    public TaskChanges(List<TaskResponse> changed, List<Long> deleted, long watermark, boolean resync) {
+        this(changed, deleted, watermark, resync, null);
+    }
+
+    public TaskChanges(List<TaskResponse> changed, List<Long> deleted, long watermark, boolean resync,
+            String nextCursor) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.watermark = watermark;
+        this.resync = resync;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TaskResponse> getChanged() {
+        return changed;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public boolean isResync() {
+        return resync;
+    }
+
+    /** Continues a page of {@code TaskService.getChangesPage}; null on the last page. */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.taskmanagement.payload.task;
+
+import com.example.taskmanagement.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last task a client has seen, ordered by (updatedAt, id).
+ * Clients only ever see the encoded form and hand it back unchanged.
+ */
+public class TaskCursor {
+    private final LocalDateTime updatedAt;
+    private final Long id;
+
+    public TaskCursor(LocalDateTime updatedAt, Long id) {
+        this.updatedAt = updatedAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = updatedAt + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int comma = raw.indexOf(',');
+            if (comma < 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new TaskCursor(LocalDateTime.parse(raw.substring(0, comma)),
+                    Long.valueOf(raw.substring(comma + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.taskmanagement.payload.task;
+
+/**
+ * A committed change to one task, pushed to clients over {@code /tasks/stream}. {@code task}
+ * holds the new state for creates and updates and is null for deletes.
+ */
+public class TaskEvent {
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+
+    private final String type;
+    private final Long taskId;
+    private final TaskResponse task;
+
+    public TaskEvent(String type, Long taskId, TaskResponse task) {
+        this.type = type;
+        this.taskId = taskId;
+        this.task = task;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public TaskResponse getTask() {
+        return task;
+    }
+}
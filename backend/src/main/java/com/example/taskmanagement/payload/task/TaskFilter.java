@@ -0,0 +1,61 @@
+package com.example.taskmanagement.payload.task;
+
+import com.example.taskmanagement.entity.TaskPriority;
+import com.example.taskmanagement.entity.TaskStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+public class TaskFilter {
+    private TaskStatus status;
+
+    private TaskPriority priority;
+
+    private Long assignedUserId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueTo;
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+
+    public Long getAssignedUserId() {
+        return assignedUserId;
+    }
+
+    public void setAssignedUserId(Long assignedUserId) {
+        this.assignedUserId = assignedUserId;
+    }
+
+    public LocalDateTime getDueFrom() {
+        return dueFrom;
+    }
+
+    public void setDueFrom(LocalDateTime dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+
+    public LocalDateTime getDueTo() {
+        return dueTo;
+    }
+
+    public void setDueTo(LocalDateTime dueTo) {
+        this.dueTo = dueTo;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.taskmanagement.payload.task;
+
+import java.util.List;
+
+public class TaskPage {
+    private final List<TaskResponse> items;
+    private final String nextCursor;
+    private final String version;
+
+    public TaskPage(List<TaskResponse> items, String nextCursor, String version) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.version = version;
+    }
+
+    /** A page that was not loaded because the caller already holds it. */
+    public static TaskPage unchanged(String version) {
+        return new TaskPage(null, null, version);
+    }
+
+    /** The rows, or null when the page is {@link #unchanged(String) unchanged}. */
+    public List<TaskResponse> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /** The collection version the page was read at. */
+    public String getVersion() {
+        return version;
+    }
+}
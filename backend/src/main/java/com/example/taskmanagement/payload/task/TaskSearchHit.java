@@ -0,0 +1,38 @@
+package com.example.taskmanagement.payload.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One full-text search result, best match first. The highlights are HTML-escaped excerpts
+ * with matched terms wrapped in {@code <mark>}, and are absent for a field that did not match.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskSearchHit {
+    private final TaskResponse task;
+    private final float score;
+    private final String titleHighlight;
+    private final String descriptionHighlight;
+
+    public TaskSearchHit(TaskResponse task, float score, String titleHighlight, String descriptionHighlight) {
+        this.task = task;
+        this.score = score;
+        this.titleHighlight = titleHighlight;
+        this.descriptionHighlight = descriptionHighlight;
+    }
+
+    public TaskResponse getTask() {
+        return task;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public String getTitleHighlight() {
+        return titleHighlight;
+    }
+
+    public String getDescriptionHighlight() {
+        return descriptionHighlight;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.taskmanagement.payload.task;
+
+import com.example.taskmanagement.entity.TaskPriority;
+import com.example.taskmanagement.entity.TaskStatus;
+
+import java.util.Map;
+
+/**
+ * Task counts across all users. {@code byAssignee} is keyed by user id and leaves out
+ * unassigned tasks, which are counted in {@code unassigned}. {@code overdue} counts open tasks
+ * due before today.
+ */
+public class TaskStats {
+    private final long total;
+    private final Map<TaskStatus, Long> byStatus;
+    private final Map<TaskPriority, Long> byPriority;
+    private final Map<Long, Long> byAssignee;
+    private final long unassigned;
+    private final long overdue;
+
+    public TaskStats(long total, Map<TaskStatus, Long> byStatus, Map<TaskPriority, Long> byPriority,
+            Map<Long, Long> byAssignee, long unassigned, long overdue) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.byPriority = byPriority;
+        this.byAssignee = byAssignee;
+        this.unassigned = unassigned;
+        this.overdue = overdue;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<TaskStatus, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public Map<TaskPriority, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public Map<Long, Long> getByAssignee() {
+        return byAssignee;
+    }
+
+    public long getUnassigned() {
+        return unassigned;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+}
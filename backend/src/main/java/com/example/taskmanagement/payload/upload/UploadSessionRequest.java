@@ -0,0 +1,30 @@
+package com.example.taskmanagement.payload.upload;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public class UploadSessionRequest {
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    @NotNull(message = "Size is required")
+    @Positive(message = "Size must be positive")
+    private Long size;
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+}
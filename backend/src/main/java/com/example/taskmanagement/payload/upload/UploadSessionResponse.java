@@ -0,0 +1,71 @@
+package com.example.taskmanagement.payload.upload;
+
+import java.util.List;
+
+public class UploadSessionResponse {
+    private String uploadId;
+
+    private String fileName;
+
+    private long size;
+
+    private long receivedBytes;
+
+    /**
+     * Byte ranges already stored, as inclusive "start-end" strings in ascending order.
+     */
+    private List<String> receivedRanges;
+
+    public UploadSessionResponse(String uploadId, String fileName, long size, long receivedBytes,
+            List<String> receivedRanges) {
+        this.uploadId = uploadId;
+        this.fileName = fileName;
+        this.size = size;
+        this.receivedBytes = receivedBytes;
+        this.receivedRanges = receivedRanges;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public void setReceivedBytes(long receivedBytes) {
+        this.receivedBytes = receivedBytes;
+    }
+
+    public List<String> getReceivedRanges() {
+        return receivedRanges;
+    }
+
+    public void setReceivedRanges(List<String> receivedRanges) {
+        this.receivedRanges = receivedRanges;
+    }
+
+    public boolean isComplete() {
+        return receivedBytes == size;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.taskmanagement.payload.user;
+
+/**
+ * The part of a user the assignee picker needs, without the entity's password and email.
+ */
+public class UserSummary {
+    private final Long id;
+    private final String username;
+
+    public UserSummary(Long id, String username) {
+        this.id = id;
+        this.username = username;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.taskmanagement.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The revoked_tokens table. Like task_counters it has no entity; rows are only inserted,
+ * read back in bulk and pruned. Every method runs in a read-write transaction, which keeps it
+ * on the primary when read replicas are configured: a revocation must be seen at once.
+ */
+@Repository
+@Transactional
+public class RevokedTokenRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Records the revocation. Fails with a {@code DataIntegrityViolationException} when the
+     * jti is already there, which is how two instances consuming the same refresh token at
+     * once are told apart.
+     */
+    public void insert(String jti, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        entityManager.createNativeQuery("INSERT INTO revoked_tokens (jti, expires_at, revoked_at) "
+                        + "VALUES (:jti, :expiresAt, :revokedAt)")
+                .setParameter("jti", jti)
+                .setParameter("expiresAt", expiresAt)
+                .setParameter("revokedAt", revokedAt)
+                .executeUpdate();
+    }
+
+    /** Unexpired revocations recorded after {@code since}, as {jti, expiresAt} pairs. */
+    public List<Object[]> findRevokedAfter(LocalDateTime since, LocalDateTime now) {
+        List<?> rows = entityManager.createNativeQuery("SELECT jti, expires_at FROM revoked_tokens "
+                        + "WHERE revoked_at > :since AND expires_at > :now")
+                .setParameter("since", since)
+                .setParameter("now", now)
+                .getResultList();
+        return rows.stream().map(row -> (Object[]) row).toList();
+    }
+
+    public int deleteExpired(LocalDateTime now) {
+        return entityManager.createNativeQuery("DELETE FROM revoked_tokens WHERE expires_at <= :now")
+                .setParameter("now", now)
+                .executeUpdate();
+    }
+
+    public static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
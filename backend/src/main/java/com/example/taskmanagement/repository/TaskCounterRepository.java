@@ -0,0 +1,107 @@
+package com.example.taskmanagement.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * The task_counters table. It has no entity: rows are only ever added to and summed, which
+ * plain SQL says more directly. Statements declare the table as their query space, so
+ * Hibernate leaves the second-level cache alone when they run.
+ */
+@Repository
+public class TaskCounterRepository {
+
+    private static final String TABLE = "task_counters";
+
+    private static final String UPSERT_POSTGRESQL = "INSERT INTO task_counters (dimension, bucket, stripe, task_count) "
+            + "VALUES (:dimension, :bucket, :stripe, :delta) "
+            + "ON CONFLICT (dimension, bucket, stripe) DO UPDATE SET task_count = task_counters.task_count + :delta";
+
+    private static final String UPSERT_STANDARD = "MERGE INTO task_counters c "
+            + "USING (VALUES (CAST(:dimension AS VARCHAR(16)), CAST(:bucket AS VARCHAR(32)), CAST(:stripe AS INTEGER), "
+            + "CAST(:delta AS BIGINT))) AS d (dimension, bucket, stripe, delta) "
+            + "ON c.dimension = d.dimension AND c.bucket = d.bucket AND c.stripe = d.stripe "
+            + "WHEN MATCHED THEN UPDATE SET task_count = c.task_count + d.delta "
+            + "WHEN NOT MATCHED THEN INSERT (dimension, bucket, stripe, task_count) "
+            + "VALUES (d.dimension, d.bucket, d.stripe, d.delta)";
+
+    // Same buckets as the V4 migration seeds.
+    private static final String COUNT_TASKS = "SELECT 'status', status, COUNT(*) FROM tasks GROUP BY status "
+            + "UNION ALL SELECT 'priority', priority, COUNT(*) FROM tasks GROUP BY priority "
+            + "UNION ALL SELECT 'assignee', COALESCE(CAST(assigned_user_id AS VARCHAR(32)), 'none'), COUNT(*) "
+            + "FROM tasks GROUP BY assigned_user_id "
+            + "UNION ALL SELECT 'due', CAST(CAST(due_date AS DATE) AS VARCHAR(32)), COUNT(*) FROM tasks "
+            + "WHERE status <> 'COMPLETED' AND due_date IS NOT NULL GROUP BY CAST(due_date AS DATE)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean postgresql;
+
+    /** Adds {@code delta} to one stripe of a bucket, creating the row if needed. */
+    public void add(String dimension, String bucket, int stripe, long delta) {
+        // MERGE can fail on PostgreSQL when two transactions insert the same new row at once.
+        nativeQuery(isPostgreSQL() ? UPSERT_POSTGRESQL : UPSERT_STANDARD)
+                .setParameter("dimension", dimension)
+                .setParameter("bucket", bucket)
+                .setParameter("stripe", stripe)
+                .setParameter("delta", delta)
+                .executeUpdate();
+    }
+
+    /** Each bucket as {dimension, bucket, count}, the count summed over its stripes. */
+    public List<Object[]> sumByBucket() {
+        return nativeQuery("SELECT dimension, bucket, SUM(task_count) FROM task_counters GROUP BY dimension, bucket")
+                .getResultList();
+    }
+
+    public long sumDimension(String dimension) {
+        Object sum = nativeQuery("SELECT COALESCE(SUM(task_count), 0) FROM task_counters WHERE dimension = :dimension")
+                .setParameter("dimension", dimension)
+                .getSingleResult();
+        return ((Number) sum).longValue();
+    }
+
+    /** What {@link #sumByBucket()} should return, counted from the tasks themselves. */
+    public List<Object[]> countTasksByBucket() {
+        return nativeQuery(COUNT_TASKS).addSynchronizedQuerySpace("tasks").getResultList();
+    }
+
+    public void deleteBucket(String dimension, String bucket) {
+        nativeQuery("DELETE FROM task_counters WHERE dimension = :dimension AND bucket = :bucket")
+                .setParameter("dimension", dimension)
+                .setParameter("bucket", bucket)
+                .executeUpdate();
+    }
+
+    /**
+     * Makes writers wait to add to any counter until the current transaction ends, and waits
+     * for those that already have. Only done on PostgreSQL; elsewhere a no-op.
+     */
+    public void lockAgainstWriters() {
+        if (isPostgreSQL()) {
+            nativeQuery("LOCK TABLE task_counters IN SHARE ROW EXCLUSIVE MODE").executeUpdate();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object[]> nativeQuery(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(TABLE);
+    }
+
+    private boolean isPostgreSQL() {
+        if (postgresql == null) {
+            postgresql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+        }
+        return postgresql;
+    }
+}
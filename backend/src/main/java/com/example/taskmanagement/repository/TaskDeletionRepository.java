@@ -0,0 +1,33 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.entity.TaskDeletion;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskDeletionRepository extends JpaRepository<TaskDeletion, Long> {
+
+    @Query("SELECT d.taskId FROM TaskDeletion d WHERE d.deletedAt > :since ORDER BY d.deletedAt, d.id")
+    List<Long> findTaskIdsDeletedAfter(@Param("since") LocalDateTime since, Limit limit);
+
+    /**
+     * Tombstones recorded after {@code since} and past ({@code afterAt}, {@code afterId}) in
+     * (deletedAt, id) order. Passing {@code since} and {@link Long#MAX_VALUE} starts from the
+     * beginning.
+     */
+    @Query("SELECT d FROM TaskDeletion d WHERE d.deletedAt > :since AND (d.deletedAt > :afterAt "
+            + "OR (d.deletedAt = :afterAt AND d.id > :afterId)) ORDER BY d.deletedAt, d.id")
+    List<TaskDeletion> findDeletedAfter(@Param("since") LocalDateTime since, @Param("afterAt") LocalDateTime afterAt,
+            @Param("afterId") Long afterId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM TaskDeletion d WHERE d.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
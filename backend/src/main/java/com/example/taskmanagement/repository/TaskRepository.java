@@ -1,12 +1,78 @@
 package com.example.taskmanagement.repository;
 
 import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.payload.task.TaskCursor;
+import com.example.taskmanagement.payload.task.TaskFilter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskRepositoryCustom {
     List<Task> findByUserId(Long userId);
+
+    @EntityGraph(attributePaths = { "assignedUser", "attachments" })
+    Optional<Task> findWithDetailsById(Long id);
+
+    /**
+     * The task, locked until the transaction ends. Used by writers that derive something from
+     * the current values, such as the counter buckets to subtract, so concurrent writers of
+     * the same task take turns instead of all starting from the same old state.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id = :id")
+    Optional<Task> findForUpdateById(@Param("id") Long id);
+
+    /** As {@link #findForUpdateById}, for a batch. Locks are taken in id order. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id IN :ids ORDER BY t.id")
+    List<Task> findAllForUpdateById(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.updatedAt FROM Task t WHERE t.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    /**
+     * Attachments for a whole page of tasks in one statement, as (taskId, fileUrl) pairs.
+     * Used instead of touching each task's lazy collection.
+     */
+    @Query("SELECT t.id, a FROM Task t JOIN t.attachments a WHERE t.id IN :taskIds")
+    List<Object[]> findAttachmentsByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * Every attachment reference across all tasks, one row per reference.
+     */
+    @Query("SELECT a FROM Task t JOIN t.attachments a")
+    Stream<String> streamAllAttachments();
+
+    /**
+     * Seeks past {@code cursor} in (updatedAt, id) order and returns at most {@code limit}
+     * rows, so every page costs the same regardless of how deep the client has scrolled.
+     * The assigned user is fetched in the same statement; attachments are not, since joining
+     * a collection would defeat the row limit.
+     */
+    default List<Task> findPage(TaskFilter filter, TaskCursor cursor, int limit) {
+        return findBy(TaskSpecifications.matching(filter).and(TaskSpecifications.after(cursor)),
+                query -> query.sortBy(TaskSpecifications.SEEK_ORDER).limit(limit).project("assignedUser").all());
+    }
+
+    /**
+     * Up to {@code limit} tasks modified after {@code since} and past {@code cursor} (may be
+     * null), oldest change first, served by the (updatedAt, id) index.
+     */
+    default List<Task> findChangedAfter(LocalDateTime since, TaskCursor cursor, int limit) {
+        return findBy(TaskSpecifications.updatedAfter(since).and(TaskSpecifications.after(cursor)),
+                query -> query.sortBy(TaskSpecifications.SEEK_ORDER).limit(limit).project("assignedUser").all());
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.payload.task.TaskFilter;
+
+import java.util.stream.Stream;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Forward-only stream over every task matching {@code filter}, ordered by id, with the
+     * assigned user fetched in the same row. Rows are pulled from the driver {@code fetchSize}
+     * at a time; the caller must consume it inside a transaction and close it.
+     */
+    Stream<Task> streamAll(TaskFilter filter, int fetchSize);
+}
@@ -0,0 +1,35 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.payload.task.TaskFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Task> streamAll(TaskFilter filter, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> root = query.from(Task.class);
+        root.fetch("assignedUser", JoinType.LEFT);
+        query.select(root)
+                .where(TaskSpecifications.matching(filter).toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
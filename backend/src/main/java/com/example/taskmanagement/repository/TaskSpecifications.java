@@ -0,0 +1,66 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.payload.task.TaskCursor;
+import com.example.taskmanagement.payload.task.TaskFilter;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TaskSpecifications {
+
+    /** Keyset order shared by every seek query; the cursor encodes the last row in this order. */
+    public static final Sort SEEK_ORDER = Sort.by(Sort.Order.asc("updatedAt"), Sort.Order.asc("id"));
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Only the filters that are actually set become predicates, so the planner sees a
+     * plain conjunction it can match against an index instead of "(:x IS NULL OR ...)".
+     */
+    public static Specification<Task> matching(TaskFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter != null) {
+                if (filter.getStatus() != null) {
+                    predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+                }
+                if (filter.getPriority() != null) {
+                    predicates.add(cb.equal(root.get("priority"), filter.getPriority()));
+                }
+                if (filter.getAssignedUserId() != null) {
+                    predicates.add(cb.equal(root.get("assignedUser").get("id"), filter.getAssignedUserId()));
+                }
+                if (filter.getDueFrom() != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), filter.getDueFrom()));
+                }
+                if (filter.getDueTo() != null) {
+                    predicates.add(cb.lessThan(root.get("dueDate"), filter.getDueTo()));
+                }
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Task> after(TaskCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return cb.conjunction();
+            }
+            return cb.or(
+                    cb.greaterThan(root.get("updatedAt"), cursor.getUpdatedAt()),
+                    cb.and(
+                            cb.equal(root.get("updatedAt"), cursor.getUpdatedAt()),
+                            cb.greaterThan(root.get("id"), cursor.getId())));
+        };
+    }
+
+    public static Specification<Task> updatedAfter(LocalDateTime since) {
+        return (root, query, cb) -> cb.greaterThan(root.get("updatedAt"), since);
+    }
+}
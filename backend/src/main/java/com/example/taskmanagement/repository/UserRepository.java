@@ -1,10 +1,23 @@
 package com.example.taskmanagement.repository;
 
 import com.example.taskmanagement.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Cacheable queries keep only ids; the rows come from the "users" region, and any write
+    // to the users table invalidates the cached results.
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<User> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmail(String email);
@@ -12,4 +25,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByUsername(String username);
 
     Boolean existsByEmail(String email);
+
+    /**
+     * (id, username, email) of every user, for building the user directory.
+     */
+    @Query("SELECT u.id, u.username, u.email FROM User u")
+    List<Object[]> findDirectoryEntries();
 }
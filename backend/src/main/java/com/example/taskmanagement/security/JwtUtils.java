@@ -1,62 +1,194 @@
 package com.example.taskmanagement.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    public static final String CLAIM_USER_ID = "uid";
+
+    public static final String CLAIM_SECURITY_VERSION = "ver";
+
+    public static final String CLAIM_ROLES = "roles";
+
+    public static final String CLAIM_TOKEN_TYPE = "typ";
+
+    public static final String TOKEN_TYPE_ACCESS = "access";
+
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
     @Value("${app.jwtSecret:SecretKeyToGenJWTsWithAtLeast32CharactersLongToMakeItSecure}")
     private String jwtSecret;
 
-    @Value("${app.jwtExpirationMs:86400000}")
+    @Value("${app.jwtExpirationMs:900000}")
     private int jwtExpirationMs;
 
+    @Value("${app.jwtRefreshExpirationMs:604800000}")
+    private long jwtRefreshExpirationMs;
+
+    @Value("${app.jwtVerifiedCacheSize:10000}")
+    private long verifiedCacheSize;
+
+    private Key signingKey;
+
+    private JwtParser jwtParser;
+
+    /**
+     * Claims of tokens whose signature has already been checked, keyed by a SHA-256 digest of
+     * the token so raw bearer tokens are never held in memory. Each entry expires together
+     * with its token.
+     */
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, Claims claims, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, Claims claims, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     public String generateJwtToken(Authentication authentication) {
-        UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+        return generateJwtToken((UserDetailsImpl) authentication.getPrincipal());
+    }
 
+    /**
+     * Short-lived access token carrying everything {@code PrincipalCache} needs to rebuild the
+     * principal, plus a jti so it can be revoked.
+     */
+    public String generateJwtToken(UserDetailsImpl userPrincipal) {
+        Date now = new Date();
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userPrincipal.getUsername())
-                .claim("roles", userPrincipal.getAuthorities())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .claim(CLAIM_TOKEN_TYPE, TOKEN_TYPE_ACCESS)
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_SECURITY_VERSION, userPrincipal.getSecurityVersion())
+                .claim(CLAIM_ROLES, userPrincipal.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toList()))
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    /**
+     * Long-lived token that is only accepted by /auth/refresh. It is single-use: refreshing
+     * revokes its jti and issues a new one.
+     */
+    public String generateRefreshToken(UserDetailsImpl userPrincipal) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(userPrincipal.getUsername())
+                .claim(CLAIM_TOKEN_TYPE, TOKEN_TYPE_REFRESH)
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_SECURITY_VERSION, userPrincipal.getSecurityVersion())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtRefreshExpirationMs))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+    public long getJwtExpirationMs() {
+        return jwtExpirationMs;
     }
 
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Tokens issued before token types existed are access tokens.
+     */
+    public static boolean isRefreshToken(Claims claims) {
+        return TOKEN_TYPE_REFRESH.equals(claims.get(CLAIM_TOKEN_TYPE, String.class));
+    }
+
+    /**
+     * Verifies the token and returns its claims in a single parse, or null if the token is not
+     * acceptable. Tokens seen recently are answered from the verified-token cache.
+     */
+    public Claims parseAndValidate(String authToken) {
+        if (authToken == null || authToken.isEmpty()) {
+            logger.warn("JWT claims string is empty");
+            return null;
+        }
+
+        String digest = digest(authToken);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(authToken).getBody();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(digest, claims);
+            }
+            return claims;
         } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            logger.warn("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
+            logger.warn("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
+            logger.warn("JWT token is unsupported: {}", e.getMessage());
+        } catch (SignatureException e) {
+            logger.warn("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            logger.warn("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
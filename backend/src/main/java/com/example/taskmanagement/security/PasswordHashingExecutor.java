@@ -0,0 +1,164 @@
+package com.example.taskmanagement.security;
+
+import com.example.taskmanagement.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification on a small fixed pool with a bounded queue, so a
+ * burst of logins cannot occupy more CPU than the pool allows. When the queue is full the
+ * caller gets a {@link ServiceUnavailableException} straight away instead of waiting.
+ */
+@Component
+@ManagedResource(objectName = "taskmanagement:type=Security,name=PasswordHashing")
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    private final long retryAfterSeconds;
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public PasswordHashingExecutor(@Value("${app.passwordHashing.threads:0}") int threads,
+            @Value("${app.passwordHashing.queueCapacity:64}") int queueCapacity,
+            @Value("${app.passwordHashing.retryAfterSeconds:1}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Runs {@code work} on the hashing pool and waits for its result. Timings are recorded
+     * against the path of the current request.
+     */
+    public <T> T execute(Supplier<T> work) {
+        EndpointStats stats = endpoints.computeIfAbsent(currentEndpoint(), endpoint -> new EndpointStats());
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return work.get();
+                } finally {
+                    stats.record(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many authentication requests, please retry shortly",
+                    retryAfterSeconds);
+        }
+
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @ManagedAttribute
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @ManagedAttribute
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @ManagedAttribute
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    @ManagedAttribute
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Per endpoint: number of hashes, mean and maximum hash time in milliseconds.
+     */
+    @ManagedAttribute
+    public Map<String, String> getEndpointStats() {
+        Map<String, String> result = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> result.put(endpoint, stats.toString()));
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            return request.getMethod() + " " + request.getRequestURI();
+        }
+        return "internal";
+    }
+
+    static class EndpointStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        @Override
+        public String toString() {
+            long n = count.sum();
+            double mean = n == 0 ? 0 : totalNanos.sum() / (double) n / 1_000_000;
+            return String.format("count=%d meanMs=%.1f maxMs=%.1f", n, mean, maxNanos.get() / 1_000_000.0);
+        }
+    }
+}
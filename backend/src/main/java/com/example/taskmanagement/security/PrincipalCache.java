@@ -0,0 +1,122 @@
+package com.example.taskmanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Remembers the current security version of recently seen users so that a token whose
+ * version still matches can be turned into a principal without a database round-trip.
+ * Entries are keyed by user id, so a rename cannot leave one behind under the old name.
+ * They are bounded in number and age, and dropped by {@code UserSecurityListener} when a
+ * change to the underlying row commits.
+ */
+@Component
+@ManagedResource(objectName = "taskmanagement:type=Security,name=PrincipalCache")
+public class PrincipalCache {
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    private final Cache<Long, Long> versions;
+
+    public PrincipalCache(@Value("${app.principalCache.maxSize:10000}") long maxSize,
+            @Value("${app.principalCache.ttlSeconds:300}") long ttlSeconds) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Resolves the principal for already-verified token claims, or returns null when the
+     * token was minted for an older version of the account.
+     */
+    public UserDetailsImpl resolve(Claims claims) {
+        String username = claims.getSubject();
+        Long userId = claims.get(JwtUtils.CLAIM_USER_ID, Long.class);
+        Long tokenVersion = claims.get(JwtUtils.CLAIM_SECURITY_VERSION, Long.class);
+        List<?> roles = claims.get(JwtUtils.CLAIM_ROLES, List.class);
+
+        if (userId != null && tokenVersion != null && roles != null
+                && tokenVersion.equals(versions.getIfPresent(userId))) {
+            return UserDetailsImpl.fromClaims(userId, username,
+                    roles.stream().map(String::valueOf).toList(), tokenVersion);
+        }
+
+        UserDetailsImpl userDetails;
+        try {
+            userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            if (userId != null) {
+                versions.invalidate(userId);
+            }
+            return null;
+        }
+        versions.put(userDetails.getId(), userDetails.getSecurityVersion());
+
+        // The name may since have passed to another account.
+        if (userId != null && !userId.equals(userDetails.getId())) {
+            return null;
+        }
+        if (tokenVersion != null && !tokenVersion.equals(userDetails.getSecurityVersion())) {
+            return null;
+        }
+        return userDetails;
+    }
+
+    /**
+     * Drops the user's entry once the surrounding transaction commits. Dropping it earlier
+     * would let a request racing the write read the old row and cache it again.
+     */
+    public void evict(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.invalidate(userId);
+                }
+            });
+        } else {
+            versions.invalidate(userId);
+        }
+    }
+
+    @ManagedOperation
+    public void clear() {
+        versions.invalidateAll();
+    }
+
+    @ManagedAttribute
+    public long getHitCount() {
+        return versions.stats().hitCount();
+    }
+
+    @ManagedAttribute
+    public long getMissCount() {
+        return versions.stats().missCount();
+    }
+
+    @ManagedAttribute
+    public long getEvictionCount() {
+        return versions.stats().evictionCount();
+    }
+
+    @ManagedAttribute
+    public long getSize() {
+        return versions.estimatedSize();
+    }
+}
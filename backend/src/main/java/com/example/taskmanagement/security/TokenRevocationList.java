@@ -0,0 +1,106 @@
+package com.example.taskmanagement.security;
+
+import com.example.taskmanagement.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * jti values of revoked tokens, each kept only until the token would have expired anyway. The
+ * revoked_tokens table is the record shared by all instances and kept across restarts; the
+ * map here is a copy of it, checked on every request instead of a database lookup. It is
+ * loaded at startup and then picks up other instances' revocations every
+ * {@code app.revocationRefreshIntervalMs}.
+ */
+@Component
+@ManagedResource(objectName = "taskmanagement:type=Security,name=TokenRevocationList")
+public class TokenRevocationList {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    // A revocation committed just before a refresh may carry an earlier revoked_at than rows
+    // the refresh already read, so each refresh looks back this far.
+    @Value("${app.changes.safetyWindowMs:5000}")
+    private long safetyWindowMs;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime refreshedFrom;
+
+    @PostConstruct
+    public void load() {
+        refresh(LocalDateTime.of(1970, 1, 1, 0, 0));
+    }
+
+    @Scheduled(fixedDelayString = "${app.revocationRefreshIntervalMs:10000}",
+            initialDelayString = "${app.revocationRefreshIntervalMs:10000}")
+    public void refresh() {
+        refresh(refreshedFrom.minusNanos(safetyWindowMs * 1_000_000));
+    }
+
+    /** Tokens without a jti or expiry cannot be revoked, so they are never accepted. */
+    public boolean isRevoked(Claims claims) {
+        String jti = claims.getId();
+        return jti == null || claims.getExpiration() == null || revoked.containsKey(jti);
+    }
+
+    /**
+     * Revokes the token and returns true, or returns false if it had already been revoked here
+     * or by another instance, or cannot be revoked because it has no jti or expiry.
+     */
+    public boolean revoke(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null || claims.getExpiration() == null) {
+            return false;
+        }
+        long expiresAt = claims.getExpiration().getTime();
+        if (revoked.containsKey(jti)) {
+            return false;
+        }
+        try {
+            revokedTokenRepository.insert(jti, toLocalDateTime(expiresAt), LocalDateTime.now());
+        } catch (DataIntegrityViolationException alreadyRevoked) {
+            revoked.put(jti, expiresAt);
+            return false;
+        }
+        return revoked.putIfAbsent(jti, expiresAt) == null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.revocationPruneIntervalMs:60000}")
+    public void prune() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedTokenRepository.deleteExpired(toLocalDateTime(now));
+    }
+
+    @ManagedAttribute
+    public int getSize() {
+        return revoked.size();
+    }
+
+    private void refresh(LocalDateTime since) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        for (Object[] row : revokedTokenRepository.findRevokedAfter(since, startedAt)) {
+            LocalDateTime expiresAt = RevokedTokenRepository.toLocalDateTime(row[1]);
+            revoked.putIfAbsent((String) row[0], expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        refreshedFrom = startedAt;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
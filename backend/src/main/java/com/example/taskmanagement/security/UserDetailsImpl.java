@@ -10,6 +10,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 public class UserDetailsImpl implements UserDetails {
     private Long id;
@@ -23,6 +24,9 @@ public class UserDetailsImpl implements UserDetails {
 
     private Collection<? extends GrantedAuthority> authorities;
 
+    @JsonIgnore
+    private Long securityVersion;
+
     public UserDetailsImpl(Long id, String username, String password,
             Collection<? extends GrantedAuthority> authorities) {
         this(id, username, null, password, authorities);
@@ -37,6 +41,12 @@ public class UserDetailsImpl implements UserDetails {
         this.authorities = authorities;
     }
 
+    public UserDetailsImpl(Long id, String username, String email, String password,
+            Collection<? extends GrantedAuthority> authorities, Long securityVersion) {
+        this(id, username, email, password, authorities);
+        this.securityVersion = securityVersion;
+    }
+
     public static UserDetailsImpl build(User user) {
         List<GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority(user.getRole()));
 
@@ -45,7 +55,20 @@ public class UserDetailsImpl implements UserDetails {
                 user.getUsername(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities);
+                authorities,
+                user.getSecurityVersion());
+    }
+
+    /**
+     * Principal rebuilt from verified token claims alone. It carries no password or email and
+     * is only trusted once {@link PrincipalCache} has confirmed the token's security version.
+     */
+    public static UserDetailsImpl fromClaims(Long id, String username, List<String> roles, Long securityVersion) {
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        return new UserDetailsImpl(id, username, null, null, authorities, securityVersion);
     }
 
     @Override
@@ -57,6 +80,10 @@ public class UserDetailsImpl implements UserDetails {
         return id;
     }
 
+    public Long getSecurityVersion() {
+        return securityVersion;
+    }
+
     public String getEmail() {
         return email;
     }
@@ -6,30 +6,46 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
 
     @Autowired
     UserRepository userRepository;
 
+    /**
+     * Not read-only, so it is never answered by a replica: a lagging copy of the password hash
+     * or security version could reject a new password or accept a revoked token.
+     */
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        logger.info("UserDetailsServiceImpl: Loading user {}", username);
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> {
-                    logger.error("UserDetailsServiceImpl: User not found {}", username);
+                    logger.debug("User not found: {}", username);
                     return new UsernameNotFoundException("User Not Found with username: " + username);
                 });
-
-        logger.info("UserDetailsServiceImpl: User found, role: {}", user.getRole());
         return UserDetailsImpl.build(user);
     }
+
+    /**
+     * Stores a re-encoded hash of the same password, e.g. after the work factor was raised.
+     * The security version is left alone, so issued tokens stay valid.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(
+                        "User Not Found with username: " + userDetails.getUsername()));
+        user.upgradePasswordHash(newPassword);
+        return UserDetailsImpl.build(userRepository.save(user));
+    }
 }
@@ -0,0 +1,51 @@
+package com.example.taskmanagement.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+
+public interface AttachmentStorageService {
+
+    /**
+     * Stores the content of {@code in} once under its SHA-256 digest and returns the public file
+     * name ({@code <digest><extension>}). Content that is already stored is not written again.
+     */
+    String store(InputStream in, String originalFileName) throws IOException;
+
+    /**
+     * Moves an already written file into the store, hashing it on the way, and returns the
+     * public file name. The source file is consumed.
+     */
+    String storeFile(Path file, String originalFileName) throws IOException;
+
+    /**
+     * Creates an empty file on the same file system as the blobs, so it can later be handed to
+     * {@link #storeFile} and moved into place without copying.
+     */
+    Path newIncomingFile() throws IOException;
+
+    /**
+     * Deletes incoming files not written to for {@code maxAge}, such as those of upload sessions
+     * lost in a restart. Returns the number of files removed.
+     */
+    int sweepIncoming(Duration maxAge) throws IOException;
+
+    /**
+     * Resolves a public file name to the file holding its content, or null if there is none.
+     */
+    Path resolve(String fileName);
+
+    /**
+     * Deletes blobs that no task attachment references and that are older than the grace
+     * period. Returns the number of blobs removed.
+     */
+    int sweep(Set<String> referencedDigests) throws IOException;
+
+    /**
+     * Extracts the blob digest from a stored attachment URL or file name, or null if it does
+     * not point at a content-addressed blob.
+     */
+    String digestOf(String attachment);
+}
@@ -0,0 +1,246 @@
+package com.example.taskmanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed attachment store. Blobs live under {@code blobs/<ab>/<digest>} and are
+ * written through a temporary file while the digest is computed, then moved into place
+ * atomically. Files uploaded before content addressing stay in the root of the upload
+ * directory and are served as they are.
+ */
+@Service
+public class AttachmentStorageServiceImpl implements AttachmentStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentStorageServiceImpl.class);
+
+    private static final Pattern BLOB_NAME = Pattern.compile("([0-9a-f]{64})(\\.[A-Za-z0-9]{1,16})?");
+
+    private static final Pattern ATTACHMENT_DIGEST = Pattern.compile("(?:^|/)([0-9a-f]{64})(?:\\.[A-Za-z0-9]{1,16})?$");
+
+    private static final Pattern LEGACY_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+
+    private static final Pattern EXTENSION = Pattern.compile("\\.[A-Za-z0-9]{1,16}");
+
+    private static final String SWEEPING_SUFFIX = ".sweep";
+
+    private final Path root;
+
+    private final Path blobs;
+
+    private final Path incoming;
+
+    private final Duration orphanGracePeriod;
+
+    public AttachmentStorageServiceImpl(@Value("${app.upload.dir:uploads}") String uploadDir,
+            @Value("${app.storage.orphanGraceMinutes:60}") long orphanGraceMinutes) {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.blobs = root.resolve("blobs");
+        this.incoming = root.resolve("incoming");
+        this.orphanGracePeriod = Duration.ofMinutes(orphanGraceMinutes);
+        try {
+            Files.createDirectories(blobs);
+            Files.createDirectories(incoming);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
+        }
+    }
+
+    @Override
+    public String store(InputStream in, String originalFileName) throws IOException {
+        MessageDigest sha256 = sha256();
+        Path temp = newIncomingFile();
+        try {
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), sha256)) {
+                in.transferTo(out);
+            }
+            return place(temp, HexFormat.of().formatHex(sha256.digest()), originalFileName);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public String storeFile(Path file, String originalFileName) throws IOException {
+        try {
+            MessageDigest sha256 = sha256();
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), sha256)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return place(file, HexFormat.of().formatHex(sha256.digest()), originalFileName);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public Path newIncomingFile() throws IOException {
+        return Files.createTempFile(incoming, "upload-", ".part");
+    }
+
+    @Override
+    public int sweepIncoming(Duration maxAge) throws IOException {
+        Instant cutoff = Instant.now().minus(maxAge);
+        int removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(incoming)) {
+            for (Path file : files) {
+                try {
+                    if (isOlderThan(file, cutoff) && Files.deleteIfExists(file)) {
+                        removed++;
+                    }
+                } catch (NoSuchFileException e) {
+                    // Completed or aborted concurrently.
+                }
+            }
+        }
+        if (removed > 0) {
+            logger.info("Removed {} abandoned incoming upload files", removed);
+        }
+        return removed;
+    }
+
+    @Override
+    public Path resolve(String fileName) {
+        Matcher matcher = BLOB_NAME.matcher(fileName);
+        if (matcher.matches()) {
+            return blobPath(matcher.group(1));
+        }
+        if (LEGACY_NAME.matcher(fileName).matches() && !fileName.contains("..")) {
+            return root.resolve(fileName);
+        }
+        return null;
+    }
+
+    @Override
+    public int sweep(Set<String> referencedDigests) throws IOException {
+        Instant cutoff = Instant.now().minus(orphanGracePeriod);
+        int removed = 0;
+        try (DirectoryStream<Path> shards = Files.newDirectoryStream(blobs)) {
+            for (Path shard : shards) {
+                if (!Files.isDirectory(shard)) {
+                    continue;
+                }
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(shard)) {
+                    for (Path blob : entries) {
+                        String digest = blob.getFileName().toString();
+                        try {
+                            if (digest.endsWith(SWEEPING_SUFFIX)) {
+                                // Left behind by an interrupted sweep; put it back for the usual checks.
+                                Files.move(blob, shard.resolve(digest.substring(1,
+                                        digest.length() - SWEEPING_SUFFIX.length())), StandardCopyOption.ATOMIC_MOVE);
+                            } else if (!referencedDigests.contains(digest) && isOlderThan(blob, cutoff)
+                                    && delete(blob, cutoff)) {
+                                removed++;
+                            }
+                        } catch (NoSuchFileException e) {
+                            // Removed concurrently.
+                        }
+                    }
+                }
+            }
+        }
+        if (removed > 0) {
+            logger.info("Removed {} orphaned attachment blobs", removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Moves the blob aside, then checks its age once more. An upload of the same content that
+     * refreshed the timestamp before the move shows in that check and the blob is put back; one
+     * that comes after finds the blob missing and stores its own copy (see {@link #place}).
+     */
+    private boolean delete(Path blob, Instant cutoff) throws IOException {
+        Path sweeping = blob.resolveSibling("." + blob.getFileName() + SWEEPING_SUFFIX);
+        Files.move(blob, sweeping, StandardCopyOption.ATOMIC_MOVE);
+        if (isOlderThan(sweeping, cutoff)) {
+            Files.delete(sweeping);
+            return true;
+        }
+        // Same content as anything an upload may have placed there meanwhile.
+        Files.move(sweeping, blob, StandardCopyOption.ATOMIC_MOVE);
+        return false;
+    }
+
+    private static boolean isOlderThan(Path file, Instant cutoff) throws IOException {
+        return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+    }
+
+    @Override
+    public String digestOf(String attachment) {
+        if (attachment == null) {
+            return null;
+        }
+        Matcher matcher = ATTACHMENT_DIGEST.matcher(attachment);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Moves {@code file} to the blob for {@code digest} unless that blob already exists.
+     */
+    private String place(Path file, String digest, String originalFileName) throws IOException {
+        Path blob = blobPath(digest);
+        try {
+            // Already stored: refresh the timestamp so the sweeper's grace period covers the
+            // window before the new reference is saved on a task.
+            Files.setLastModifiedTime(blob, FileTime.from(Instant.now()));
+        } catch (NoSuchFileException missing) {
+            // Not stored yet, or just taken by the sweeper.
+            Files.createDirectories(blob.getParent());
+            try {
+                Files.move(file, blob, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // A concurrent upload of the same content won the race.
+            }
+        }
+        return digest + extensionOf(originalFileName);
+    }
+
+    private Path blobPath(String digest) {
+        return blobs.resolve(digest.substring(0, 2)).resolve(digest);
+    }
+
+    private static String extensionOf(String fileName) {
+        if (fileName == null) {
+            return "";
+        }
+        int dotIndex = fileName.lastIndexOf('.');
+        if (dotIndex <= 0) {
+            return "";
+        }
+        String extension = fileName.substring(dotIndex);
+        return EXTENSION.matcher(extension).matches() ? extension.toLowerCase() : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
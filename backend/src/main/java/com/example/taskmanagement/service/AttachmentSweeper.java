@@ -0,0 +1,86 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.config.ReplicaRoutingDataSource;
+import com.example.taskmanagement.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Reclaims blobs that no task references any more. Reference counts are taken from
+ * {@code Task.attachments} on every run rather than stored next to the blobs, so they cannot
+ * drift when tasks are edited or deleted. Also clears out incoming files that outlived their
+ * upload session, which is lost on restart.
+ */
+@Component
+public class AttachmentSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentSweeper.class);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private AttachmentStorageService storageService;
+
+    @Value("${app.upload.sessionTtlMinutes:1440}")
+    private long sessionTtlMinutes;
+
+    @Scheduled(initialDelayString = "${app.storage.sweepInitialDelayMs:600000}",
+            fixedDelayString = "${app.storage.sweepIntervalMs:3600000}")
+    @Transactional(readOnly = true)
+    public void scheduledSweep() {
+        try {
+            sweep();
+        } catch (IOException e) {
+            logger.warn("Attachment sweep failed: {}", e.getMessage());
+        }
+        sweepIncoming();
+    }
+
+    /**
+     * Runs on startup too: sessions are held in memory only, so after a restart nothing else
+     * would remove their files.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweepIncoming() {
+        try {
+            storageService.sweepIncoming(Duration.ofMinutes(sessionTtlMinutes));
+        } catch (IOException e) {
+            logger.warn("Incoming upload sweep failed: {}", e.getMessage());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public int sweep() throws IOException {
+        return storageService.sweep(referenceCounts().keySet());
+    }
+
+    /**
+     * Number of attachment rows pointing at each stored blob. Counted on the primary: a replica
+     * that has not yet seen a new attachment would get its blob deleted.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Integer> referenceCounts() {
+        ReplicaRoutingDataSource.usePrimary();
+        Map<String, Integer> counts = new HashMap<>();
+        try (Stream<String> attachments = taskRepository.streamAllAttachments()) {
+            attachments.map(storageService::digestOf)
+                    .filter(digest -> digest != null)
+                    .forEach(digest -> counts.merge(digest, 1, Integer::sum));
+        }
+        return counts;
+    }
+}
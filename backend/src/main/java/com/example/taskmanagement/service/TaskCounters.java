@@ -0,0 +1,257 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskPriority;
+import com.example.taskmanagement.entity.TaskStatus;
+import com.example.taskmanagement.payload.task.TaskStats;
+import com.example.taskmanagement.repository.TaskCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Task counts per status, priority, assignee and due day, kept in the task_counters table by
+ * the transactions that write tasks. A transaction collects its deltas and adds them just
+ * before it commits, to one of {@code app.stats.stripes} rows per bucket picked at random, so
+ * concurrent writers seldom wait on each other and hold the row locks only briefly.
+ * <p>
+ * The same rows also count every task write ever committed. That count is the collection
+ * version behind the list ETag: it lives in the database, so it agrees across instances and
+ * restarts. It is read in the same transaction as the list, on the primary.
+ */
+@Component
+public class TaskCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskCounters.class);
+
+    static final String STATUS = "status";
+    static final String PRIORITY = "priority";
+    static final String ASSIGNEE = "assignee";
+    static final String DUE = "due";
+    static final String UNASSIGNED = "none";
+    // Counts writes rather than tasks, so it cannot be recounted and is left out of reconcile().
+    static final String WRITES = "writes";
+    private static final Key ALL_WRITES = new Key(WRITES, "all");
+
+    @Autowired
+    private TaskCounterRepository counterRepository;
+
+    @Value("${app.stats.stripes:8}")
+    private int stripes;
+
+    /** The buckets a task is counted in. */
+    public List<Key> keysOf(Task task) {
+        List<Key> keys = new ArrayList<>(4);
+        keys.add(new Key(STATUS, task.getStatus().name()));
+        keys.add(new Key(PRIORITY, task.getPriority().name()));
+        keys.add(new Key(ASSIGNEE, task.getAssignedUser() != null
+                ? task.getAssignedUser().getId().toString() : UNASSIGNED));
+        if (task.getStatus() != TaskStatus.COMPLETED && task.getDueDate() != null) {
+            keys.add(new Key(DUE, task.getDueDate().toLocalDate().toString()));
+        }
+        return keys;
+    }
+
+    /**
+     * Moves a task from the buckets it was counted in ({@code before}, null when it is new) to
+     * those of {@code after} (null when it is deleted), once the surrounding transaction commits.
+     */
+    public void taskChanged(List<Key> before, Task after) {
+        Map<Key, Long> deltas = pendingDeltas();
+        if (before != null) {
+            before.forEach(key -> deltas.merge(key, -1L, Long::sum));
+        }
+        if (after != null) {
+            keysOf(after).forEach(key -> deltas.merge(key, 1L, Long::sum));
+        }
+        deltas.merge(ALL_WRITES, 1L, Long::sum);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addDeltas(deltas);
+        }
+    }
+
+    public TaskStats stats() {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, 0L);
+        }
+        Map<Long, Long> byAssignee = new TreeMap<>();
+        long unassigned = 0;
+        long overdue = 0;
+        String today = LocalDate.now().toString();
+
+        for (Object[] row : counterRepository.sumByBucket()) {
+            String dimension = (String) row[0];
+            String bucket = (String) row[1];
+            long count = ((Number) row[2]).longValue();
+            if (count == 0) {
+                continue;
+            }
+            switch (dimension) {
+                case STATUS -> byStatus.put(TaskStatus.valueOf(bucket), count);
+                case PRIORITY -> byPriority.put(TaskPriority.valueOf(bucket), count);
+                case ASSIGNEE -> {
+                    if (UNASSIGNED.equals(bucket)) {
+                        unassigned = count;
+                    } else {
+                        byAssignee.put(Long.valueOf(bucket), count);
+                    }
+                }
+                // ISO dates compare in date order.
+                case DUE -> overdue += bucket.compareTo(today) < 0 ? count : 0;
+                default -> {
+                }
+            }
+        }
+        long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+        return new TaskStats(total, byStatus, byPriority, byAssignee, unassigned, overdue);
+    }
+
+    /**
+     * Moves after every committed task write; equal versions mean any list read would return
+     * the same rows.
+     */
+    public String version() {
+        return Long.toString(counterRepository.sumDimension(WRITES));
+    }
+
+    /**
+     * Recounts every bucket from the tasks and corrects the counters that drifted, e.g. through
+     * writes that bypassed the service. On PostgreSQL counter writers are held off while this
+     * runs so the correction is exact; elsewhere a write racing it can leave a drift for the
+     * next run to fix. Returns the number of buckets corrected.
+     */
+    @Scheduled(initialDelayString = "${app.stats.reconcileIntervalMs:3600000}",
+            fixedDelayString = "${app.stats.reconcileIntervalMs:3600000}")
+    @Transactional
+    public int reconcile() {
+        counterRepository.lockAgainstWriters();
+        Map<Key, Long> actual = new HashMap<>();
+        for (Object[] row : counterRepository.countTasksByBucket()) {
+            actual.put(new Key((String) row[0], (String) row[1]), ((Number) row[2]).longValue());
+        }
+
+        int repaired = 0;
+        Set<Key> counted = new HashSet<>();
+        for (Object[] row : counterRepository.sumByBucket()) {
+            Key key = new Key((String) row[0], (String) row[1]);
+            if (WRITES.equals(key.getDimension())) {
+                continue;
+            }
+            long count = ((Number) row[2]).longValue();
+            long expected = actual.getOrDefault(key, 0L);
+            counted.add(key);
+            if (count != expected) {
+                repaired++;
+            }
+            if (expected == 0) {
+                counterRepository.deleteBucket(key.getDimension(), key.getBucket());
+            } else if (count != expected) {
+                counterRepository.add(key.getDimension(), key.getBucket(), 0, expected - count);
+            }
+        }
+        for (Map.Entry<Key, Long> entry : actual.entrySet()) {
+            if (!counted.contains(entry.getKey())) {
+                counterRepository.add(entry.getKey().getDimension(), entry.getKey().getBucket(), 0, entry.getValue());
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            logger.warn("Repaired {} drifted task counters", repaired);
+        }
+        return repaired;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Key, Long> pendingDeltas() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new TreeMap<>();
+        }
+        Map<Key, Long> deltas = (Map<Key, Long>) TransactionSynchronizationManager.getResource(this);
+        if (deltas == null) {
+            Map<Key, Long> created = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    addDeltas(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskCounters.this);
+                }
+            });
+            deltas = created;
+        }
+        return deltas;
+    }
+
+    // Keys are visited in sorted order, so two transactions touching the same rows lock them in
+    // the same order and cannot deadlock.
+    private void addDeltas(Map<Key, Long> deltas) {
+        int stripe = ThreadLocalRandom.current().nextInt(stripes);
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                counterRepository.add(key.getDimension(), key.getBucket(), stripe, delta);
+            }
+        });
+        deltas.clear();
+    }
+
+    public static final class Key implements Comparable<Key> {
+        private final String dimension;
+        private final String bucket;
+
+        Key(String dimension, String bucket) {
+            this.dimension = dimension;
+            this.bucket = bucket;
+        }
+
+        public String getDimension() {
+            return dimension;
+        }
+
+        public String getBucket() {
+            return bucket;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byDimension = dimension.compareTo(other.dimension);
+            return byDimension != 0 ? byDimension : bucket.compareTo(other.bucket);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && dimension.equals(key.dimension) && bucket.equals(key.bucket);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dimension, bucket);
+        }
+    }
+}
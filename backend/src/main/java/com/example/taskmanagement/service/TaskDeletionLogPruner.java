@@ -0,0 +1,38 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.repository.TaskDeletionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Drops tombstones older than the change-log retention. Clients whose watermark is older than
+ * that are told to resync, so nothing they still need is removed.
+ */
+@Component
+public class TaskDeletionLogPruner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskDeletionLogPruner.class);
+
+    @Autowired
+    private TaskDeletionRepository taskDeletionRepository;
+
+    @Value("${app.changes.retentionHours:720}")
+    private long retentionHours;
+
+    @Scheduled(initialDelayString = "${app.changes.pruneIntervalMs:3600000}",
+            fixedDelayString = "${app.changes.pruneIntervalMs:3600000}")
+    @Transactional
+    public void prune() {
+        int removed = taskDeletionRepository.deleteOlderThan(LocalDateTime.now().minusHours(retentionHours));
+        if (removed > 0) {
+            logger.info("Pruned {} task tombstones", removed);
+        }
+    }
+}
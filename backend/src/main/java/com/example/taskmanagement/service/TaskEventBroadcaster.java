@@ -0,0 +1,312 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.payload.task.TaskEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fans committed task changes out to {@code /tasks/stream} subscribers.
+ * <p>
+ * Connections are held open with servlet async, so an idle subscriber costs a queue and an
+ * emitter, not a thread. Publishing never writes to a socket: it only queues the event, and a
+ * small pool drains each subscriber's queue in turn. Queued events for the same task are
+ * coalesced to the latest one; a subscriber that still falls {@code maxPending} tasks behind is
+ * disconnected and catches up on reconnect. The last {@code replaySize} events are kept so a
+ * reconnecting client can resume from its Last-Event-ID, or is told to resync if it is older.
+ */
+@Component
+@ManagedResource(objectName = "taskmanagement:type=Events,name=TaskEvents")
+public class TaskEventBroadcaster {
+
+    public static final String RESYNC = "resync";
+
+    // Event ids are "<epoch>.<sequence>"; ids from a previous process never resume.
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+    private long sequence;
+
+    private final Deque<SequencedEvent> replay = new ArrayDeque<>();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ThreadPoolExecutor executor;
+
+    private final int replaySize;
+
+    private final int maxPending;
+
+    private final long timeoutMs;
+
+    private final LongAdder published = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    public TaskEventBroadcaster(@Value("${app.events.threads:2}") int threads,
+            @Value("${app.events.replaySize:1000}") int replaySize,
+            @Value("${app.events.maxPending:256}") int maxPending,
+            @Value("${app.events.timeoutMs:1800000}") long timeoutMs) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Each subscriber has at most one drain task queued, so the queue is bounded by the
+        // number of subscribers.
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "task-events-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.replaySize = replaySize;
+        this.maxPending = maxPending;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Queues {@code event} for every subscriber once the current transaction commits, or right
+     * away when there is none. A rolled back change is never pushed.
+     */
+    public void publish(TaskEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    broadcast(event);
+                }
+            });
+        } else {
+            broadcast(event);
+        }
+    }
+
+    /**
+     * Opens a stream. With a {@code lastEventId} still covered by the replay buffer the missed
+     * events are sent first; with an older or foreign one, or when more than {@code maxPending}
+     * tasks changed since, a single {@value #RESYNC} event tells the client to reload the list.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+
+        synchronized (replay) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                long last = parseSequence(lastEventId);
+                long oldest = replay.isEmpty() ? sequence + 1 : replay.peekFirst().sequence;
+                boolean covered = last >= 0 && last <= sequence && last >= oldest - 1;
+                Map<Long, SequencedEvent> missed = new LinkedHashMap<>();
+                if (covered) {
+                    for (SequencedEvent event : replay) {
+                        if (event.sequence > last) {
+                            missed.remove(event.event.getTaskId());
+                            missed.put(event.event.getTaskId(), event);
+                        }
+                    }
+                }
+                // A backlog that would overflow the queue right away is not replayed either:
+                // the client would be dropped and come back with the same id, over and over.
+                if (!covered || missed.size() > maxPending) {
+                    subscriber.resync(sequence);
+                } else {
+                    missed.values().forEach(subscriber::offer);
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        // Commits the response headers straight away, so clients see the stream as open.
+        subscriber.heartbeat();
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.heartbeatMs:25000}")
+    public void heartbeat() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    @ManagedAttribute
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @ManagedAttribute
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    @ManagedAttribute
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    @ManagedAttribute
+    public long getDroppedSubscriberCount() {
+        return dropped.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void broadcast(TaskEvent event) {
+        // Sequencing, buffering and queueing under one lock keeps every subscriber's queue in
+        // id order and lets subscribe() switch from replay to live without gaps.
+        synchronized (replay) {
+            SequencedEvent sequenced = new SequencedEvent(++sequence, event);
+            replay.addLast(sequenced);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(sequenced);
+            }
+        }
+        published.increment();
+    }
+
+    private long parseSequence(String eventId) {
+        int dot = eventId.indexOf('.');
+        if (dot < 0 || !epoch.equals(eventId.substring(0, dot))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dot + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "." + sequence;
+    }
+
+    private static class SequencedEvent {
+        private final long sequence;
+        private final TaskEvent event;
+
+        SequencedEvent(long sequence, TaskEvent event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+
+    private class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+
+        // Guarded by this. Keyed by task id, so a newer event replaces a queued older one.
+        private final Map<Long, SequencedEvent> pending = new LinkedHashMap<>();
+        private long resyncAt = -1;
+        private boolean heartbeatDue;
+        private boolean overflowed;
+        private boolean scheduled;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void offer(SequencedEvent event) {
+            if (closed || overflowed) {
+                return;
+            }
+            if (pending.remove(event.event.getTaskId()) != null) {
+                coalesced.increment();
+            }
+            if (pending.size() >= maxPending) {
+                pending.clear();
+                overflowed = true;
+            } else {
+                pending.put(event.event.getTaskId(), event);
+            }
+            schedule();
+        }
+
+        synchronized void resync(long sequence) {
+            resyncAt = sequence;
+            schedule();
+        }
+
+        synchronized void heartbeat() {
+            heartbeatDue = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled && !closed) {
+                scheduled = true;
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                SseEmitter.SseEventBuilder next = null;
+                synchronized (this) {
+                    if (overflowed) {
+                        closed = true;
+                        scheduled = false;
+                    } else if (resyncAt >= 0) {
+                        next = SseEmitter.event().id(eventId(resyncAt)).name(RESYNC).data("{}");
+                        resyncAt = -1;
+                    } else if (!pending.isEmpty()) {
+                        Iterator<SequencedEvent> iterator = pending.values().iterator();
+                        SequencedEvent event = iterator.next();
+                        iterator.remove();
+                        next = SseEmitter.event().id(eventId(event.sequence)).name(event.event.getType())
+                                .data(event.event, MediaType.APPLICATION_JSON);
+                    } else if (heartbeatDue) {
+                        next = SseEmitter.event().comment("");
+                        heartbeatDue = false;
+                    } else {
+                        scheduled = false;
+                        return;
+                    }
+                }
+
+                if (next == null) {
+                    // Too slow to keep up; the client reconnects with its Last-Event-ID.
+                    dropped.increment();
+                    subscribers.remove(this);
+                    emitter.complete();
+                    return;
+                }
+                try {
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException e) {
+                    synchronized (this) {
+                        closed = true;
+                        scheduled = false;
+                        pending.clear();
+                    }
+                    subscribers.remove(this);
+                    return;
+                }
+            }
+        }
+    }
+}
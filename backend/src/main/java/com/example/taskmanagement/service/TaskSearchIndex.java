@@ -0,0 +1,533 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.payload.task.TaskChanges;
+import com.example.taskmanagement.payload.task.TaskEvent;
+import com.example.taskmanagement.payload.task.TaskFilter;
+import com.example.taskmanagement.payload.task.TaskResponse;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Lucene index over task titles and descriptions, kept current from committed task writes
+ * and rebuilt from the database on startup, so the files on disk are a cache that can always
+ * be thrown away. A periodic catch-up pages through the changes feed to pick up writes made by
+ * other instances. A rebuild fills a new index next to the one being searched and swaps it in
+ * once complete. Each instance needs its own {@code app.search.indexDir}; leaving it empty
+ * keeps the index in memory.
+ */
+@Component
+@ManagedResource(objectName = "taskmanagement:type=Search,name=TaskSearchIndex")
+public class TaskSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String STATUS = "status";
+    private static final String PRIORITY = "priority";
+    private static final String ASSIGNEE = "assignedUserId";
+    private static final String DUE = "dueDate";
+
+    private static final Map<String, Float> TEXT_FIELDS = Map.of(TITLE, 2.0f, DESCRIPTION, 1.0f);
+
+    @Autowired
+    @Lazy
+    private TaskService taskService;
+
+    @Value("${app.changes.safetyWindowMs:5000}")
+    private long changesSafetyWindowMs;
+
+    @Value("${app.search.catchUpPageSize:1000}")
+    private int catchUpPageSize;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    // Null when the index is kept in memory. Each generation lives in a numbered subdirectory.
+    private final Path indexDir;
+
+    // The index being searched and written. Replaced by a rebuild under the write lock; every
+    // other use holds the read lock, so a generation is never used after it is closed.
+    private Generation current;
+
+    private final ReadWriteLock generationLock = new ReentrantReadWriteLock();
+
+    // Serializes rebuilds and catch-ups, which both move the watermark.
+    private final Lock maintenanceLock = new ReentrantLock();
+
+    // Set by writes, cleared when the next search reopens the searcher.
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    // Changes applied while a rebuild is reading the database, replayed onto the new index
+    // before it is swapped in. Null when no rebuild is running. Guarded by rebuildChangesLock.
+    private List<TaskEvent> changedDuringRebuild;
+
+    private final Lock rebuildChangesLock = new ReentrantLock();
+
+    // Where the next catch-up reads the changes feed from. Null until the first rebuild.
+    private volatile Long watermark;
+
+    public TaskSearchIndex(@Value("${app.search.indexDir:search-index}") String indexDir) throws IOException {
+        this.indexDir = indexDir.isBlank() ? null : Files.createDirectories(Paths.get(indexDir));
+        // Until the startup rebuild finishes, searches are served from the last one on disk.
+        this.current = Generation.open(latestGeneration(), analyzer);
+    }
+
+    /**
+     * Replaces the index contents with every task in the database. Searches keep using the
+     * previous index until the new one is complete.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @ManagedOperation
+    public void rebuild() {
+        maintenanceLock.lock();
+        try {
+            rebuildLocked();
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the task writes committed since the last catch-up, a page of the changes feed at
+     * a time. Only when the last catch-up is older than the deletion log is the index rebuilt
+     * instead. Writes from this instance arrive through {@link #apply} as well and are applied
+     * twice, which is harmless; a task that a concurrent write has just changed may be indexed
+     * as it was, and is put right by the next run.
+     */
+    @Scheduled(initialDelayString = "${app.search.catchUpIntervalMs:30000}",
+            fixedDelayString = "${app.search.catchUpIntervalMs:30000}")
+    @ManagedOperation
+    public void catchUp() {
+        maintenanceLock.lock();
+        try {
+            Long since = watermark;
+            if (since == null) {
+                return;
+            }
+            // Only the first page's watermark covers writes committed while the pages are read.
+            Long next = null;
+            String cursor = null;
+            do {
+                TaskChanges changes = taskService.getChangesPage(since, cursor, catchUpPageSize);
+                if (changes.isResync()) {
+                    rebuildLocked();
+                    return;
+                }
+                if (next == null) {
+                    next = changes.getWatermark();
+                }
+                if (!changes.getChanged().isEmpty() || !changes.getDeleted().isEmpty()) {
+                    withCurrent(generation -> {
+                        changes.getChanged().forEach(task -> write(generation, task));
+                        changes.getDeleted().forEach(taskId -> delete(generation, taskId));
+                    });
+                    stale.set(true);
+                }
+                cursor = changes.getNextCursor();
+            } while (cursor != null);
+            watermark = next;
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    /**
+     * Indexes or removes the task once the current transaction commits.
+     */
+    public void apply(TaskEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyNow(event);
+                }
+            });
+        } else {
+            applyNow(event);
+        }
+    }
+
+    /**
+     * Up to {@code limit} tasks matching {@code text} and the filter, best first. Title matches
+     * weigh double. The text accepts the simple query syntax: quoted phrases, {@code -term},
+     * {@code a | b} and {@code prefix*}; all other terms must match.
+     */
+    public List<Hit> search(String text, TaskFilter filter, int limit) {
+        Query query = buildQuery(text, filter);
+        generationLock.readLock().lock();
+        try {
+            SearcherManager searcherManager = current.searcherManager;
+            if (stale.getAndSet(false)) {
+                searcherManager.maybeRefreshBlocking();
+            }
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, limit);
+                UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                        .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", " ... ", true))
+                        .withMaxNoHighlightPassages(0)
+                        .build();
+                String[] titles = highlighter.highlight(TITLE, query, top, 1);
+                String[] descriptions = highlighter.highlight(DESCRIPTION, query, top, 2);
+
+                StoredFields storedFields = searcher.storedFields();
+                List<Hit> hits = new ArrayList<>(top.scoreDocs.length);
+                for (int i = 0; i < top.scoreDocs.length; i++) {
+                    Document document = storedFields.document(top.scoreDocs[i].doc, Set.of(ID));
+                    hits.add(new Hit(Long.parseLong(document.get(ID)), top.scoreDocs[i].score, titles[i],
+                            descriptions[i]));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            generationLock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.commitIntervalMs:60000}")
+    public void commit() {
+        withCurrent(generation -> {
+            try {
+                if (generation.writer.hasUncommittedChanges()) {
+                    generation.writer.commit();
+                }
+            } catch (IOException e) {
+                logger.warn("Search index commit failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    @ManagedAttribute
+    public int getDocumentCount() {
+        generationLock.readLock().lock();
+        try {
+            return current.writer.getDocStats().numDocs;
+        } finally {
+            generationLock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        generationLock.writeLock().lock();
+        try {
+            current.close();
+        } finally {
+            generationLock.writeLock().unlock();
+        }
+    }
+
+    private void rebuildLocked() {
+        long start = System.nanoTime();
+        rebuildChangesLock.lock();
+        try {
+            changedDuringRebuild = new ArrayList<>();
+        } finally {
+            rebuildChangesLock.unlock();
+        }
+        // Taken before the export and as far back as getChanges() hands out watermarks, so the
+        // catch-up after it covers anything the export missed.
+        long rebuiltFrom = System.currentTimeMillis() - changesSafetyWindowMs;
+        AtomicInteger count = new AtomicInteger();
+        Generation rebuilt = null;
+        Generation replaced = null;
+        try {
+            rebuilt = Generation.open(nextGeneration(), analyzer);
+            Generation target = rebuilt;
+            taskService.exportTasks(new TaskFilter(), task -> {
+                write(target, task);
+                count.incrementAndGet();
+            });
+            target.writer.commit();
+            generationLock.writeLock().lock();
+            try {
+                rebuildChangesLock.lock();
+                try {
+                    changedDuringRebuild.forEach(event -> write(target, event));
+                    changedDuringRebuild = null;
+                } finally {
+                    rebuildChangesLock.unlock();
+                }
+                target.searcherManager.maybeRefreshBlocking();
+                replaced = current;
+                current = target;
+            } finally {
+                generationLock.writeLock().unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            rebuildChangesLock.lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                rebuildChangesLock.unlock();
+            }
+            // Whichever of the two is no longer searched.
+            discard(replaced != null ? replaced : rebuilt);
+        }
+        stale.set(true);
+        watermark = rebuiltFrom;
+        commit();
+        logger.info("Search index rebuilt with {} tasks in {} ms", count.get(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void applyNow(TaskEvent event) {
+        rebuildChangesLock.lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event);
+            }
+        } finally {
+            rebuildChangesLock.unlock();
+        }
+        withCurrent(generation -> write(generation, event));
+        stale.set(true);
+    }
+
+    private void withCurrent(Consumer<Generation> action) {
+        generationLock.readLock().lock();
+        try {
+            action.accept(current);
+        } finally {
+            generationLock.readLock().unlock();
+        }
+    }
+
+    private void write(Generation generation, TaskEvent event) {
+        if (TaskEvent.DELETED.equals(event.getType())) {
+            delete(generation, event.getTaskId());
+        } else {
+            write(generation, event.getTask());
+        }
+    }
+
+    private void delete(Generation generation, Long taskId) {
+        try {
+            generation.writer.deleteDocuments(new Term(ID, taskId.toString()));
+        } catch (IOException e) {
+            // The next rebuild repairs the index; the write itself has already committed.
+            logger.warn("Could not remove task {} from the search index: {}", taskId, e.getMessage());
+        }
+    }
+
+    private void write(Generation generation, TaskResponse task) {
+        Document document = new Document();
+        document.add(new StringField(ID, task.getId().toString(), Field.Store.YES));
+        document.add(new TextField(TITLE, nullToEmpty(task.getTitle()), Field.Store.YES));
+        document.add(new TextField(DESCRIPTION, nullToEmpty(task.getDescription()), Field.Store.YES));
+        if (task.getStatus() != null) {
+            document.add(new StringField(STATUS, task.getStatus().name(), Field.Store.NO));
+        }
+        if (task.getPriority() != null) {
+            document.add(new StringField(PRIORITY, task.getPriority().name(), Field.Store.NO));
+        }
+        if (task.getAssignedUserId() != null) {
+            document.add(new StringField(ASSIGNEE, task.getAssignedUserId().toString(), Field.Store.NO));
+        }
+        if (task.getDueDate() != null) {
+            document.add(new LongPoint(DUE, toLong(task.getDueDate())));
+        }
+        try {
+            generation.writer.updateDocument(new Term(ID, task.getId().toString()), document);
+        } catch (IOException e) {
+            logger.warn("Could not index task {}: {}", task.getId(), e.getMessage());
+        }
+    }
+
+    private void discard(Generation generation) {
+        if (generation == null) {
+            return;
+        }
+        try {
+            generation.close();
+        } catch (IOException e) {
+            logger.warn("Could not close the old search index: {}", e.getMessage());
+        }
+        if (indexDir == null) {
+            return;
+        }
+        // Also clears out what earlier layouts or interrupted rebuilds left behind.
+        try (Stream<Path> children = Files.list(indexDir)) {
+            for (Path child : children.toList()) {
+                if (!child.equals(current.path)) {
+                    FileSystemUtils.deleteRecursively(child);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not remove the old search index: {}", e.getMessage());
+        }
+    }
+
+    private Path latestGeneration() throws IOException {
+        return indexDir != null ? indexDir.resolve(Long.toString(latestGenerationNumber())) : null;
+    }
+
+    private Path nextGeneration() throws IOException {
+        return indexDir != null ? indexDir.resolve(Long.toString(latestGenerationNumber() + 1)) : null;
+    }
+
+    private long latestGenerationNumber() throws IOException {
+        try (Stream<Path> children = Files.list(indexDir)) {
+            return children.map(child -> child.getFileName().toString())
+                    .filter(name -> name.matches("[0-9]{1,18}"))
+                    .mapToLong(Long::parseLong)
+                    .max()
+                    .orElse(0);
+        }
+    }
+
+    private Query buildQuery(String text, TaskFilter filter) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, TEXT_FIELDS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(parser.parse(text), BooleanClause.Occur.MUST);
+        if (filter.getStatus() != null) {
+            query.add(new TermQuery(new Term(STATUS, filter.getStatus().name())), BooleanClause.Occur.FILTER);
+        }
+        if (filter.getPriority() != null) {
+            query.add(new TermQuery(new Term(PRIORITY, filter.getPriority().name())), BooleanClause.Occur.FILTER);
+        }
+        if (filter.getAssignedUserId() != null) {
+            query.add(new TermQuery(new Term(ASSIGNEE, filter.getAssignedUserId().toString())),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (filter.getDueFrom() != null || filter.getDueTo() != null) {
+            long from = filter.getDueFrom() != null ? toLong(filter.getDueFrom()) : Long.MIN_VALUE;
+            // dueTo is exclusive, as in GET /tasks; the range query includes both ends.
+            long to = filter.getDueTo() != null ? Math.addExact(toLong(filter.getDueTo()), -1) : Long.MAX_VALUE;
+            query.add(LongPoint.newRangeQuery(DUE, from, to), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private static long toLong(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /** One complete index: its directory (a subdirectory of indexDir, or memory), writer and searcher. */
+    private static final class Generation {
+        private final Path path;
+        private final Directory directory;
+        private final IndexWriter writer;
+        private final SearcherManager searcherManager;
+
+        private Generation(Path path, Directory directory, IndexWriter writer) throws IOException {
+            this.path = path;
+            this.directory = directory;
+            this.writer = writer;
+            this.searcherManager = new SearcherManager(writer, null);
+        }
+
+        static Generation open(Path path, Analyzer analyzer) throws IOException {
+            Directory directory = path == null
+                    ? new ByteBuffersDirectory()
+                    : FSDirectory.open(Files.createDirectories(path));
+            return new Generation(path, directory, new IndexWriter(directory, new IndexWriterConfig(analyzer)));
+        }
+
+        void close() throws IOException {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        }
+    }
+
+    public static class Hit {
+        private final Long taskId;
+        private final float score;
+        private final String titleHighlight;
+        private final String descriptionHighlight;
+
+        Hit(Long taskId, float score, String titleHighlight, String descriptionHighlight) {
+            this.taskId = taskId;
+            this.score = score;
+            this.titleHighlight = titleHighlight;
+            this.descriptionHighlight = descriptionHighlight;
+        }
+
+        public Long getTaskId() {
+            return taskId;
+        }
+
+        public float getScore() {
+            return score;
+        }
+
+        public String getTitleHighlight() {
+            return titleHighlight;
+        }
+
+        public String getDescriptionHighlight() {
+            return descriptionHighlight;
+        }
+    }
+}
@@ -1,15 +1,74 @@
 package com.example.taskmanagement.service;
 
+import com.example.taskmanagement.payload.task.TaskBatchResult;
+import com.example.taskmanagement.payload.task.TaskBatchUpdateRequest;
+import com.example.taskmanagement.payload.task.TaskChanges;
+import com.example.taskmanagement.payload.task.TaskFilter;
+import com.example.taskmanagement.payload.task.TaskPage;
 import com.example.taskmanagement.payload.task.TaskRequest;
 import com.example.taskmanagement.payload.task.TaskResponse;
+import com.example.taskmanagement.payload.task.TaskSearchHit;
+import com.example.taskmanagement.payload.task.TaskStats;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public interface TaskService {
-    List<TaskResponse> getAllTasks(Long userId);
+    /**
+     * One page of tasks. The collection version, which changes after every committed task
+     * write, is read first in the same transaction as the page and handed to {@code unchanged};
+     * when that returns true the page is not loaded and an {@link TaskPage#unchanged unchanged}
+     * page is returned.
+     */
+    TaskPage getAllTasks(Long userId, TaskFilter filter, String cursor, int size, Predicate<String> unchanged);
+
+    /**
+     * Hands every task matching {@code filter} to {@code sink} in id order without holding the
+     * whole result in memory.
+     */
+    void exportTasks(TaskFilter filter, Consumer<TaskResponse> sink);
+
+    /**
+     * Tasks changed and deleted after the {@code since} watermark (epoch milliseconds), with the
+     * watermark for the next call.
+     */
+    TaskChanges getChanges(Long userId, Long since, int limit);
+
+    /**
+     * As {@link #getChanges}, for consumers that must see every change, such as the search
+     * index: instead of asking for a resync when more than {@code limit} tasks changed, the
+     * result carries a cursor for the next page. Changed tasks come first, then deletions. A
+     * resync is only returned when {@code since} is older than the deletion log. Continue from
+     * the watermark of the first page.
+     */
+    TaskChanges getChangesPage(long since, String cursor, int limit);
+
+    /**
+     * Full-text search over titles and descriptions, narrowed by {@code filter}, best match first.
+     */
+    List<TaskSearchHit> searchTasks(Long userId, String query, TaskFilter filter, int limit);
+
+    /**
+     * Counts of all tasks by status, priority, assignee and overdue, read from counters kept
+     * up to date by every task write rather than by scanning the tasks.
+     */
+    TaskStats getStats();
+
+    /**
+     * Last modification time of a task, read without loading the entity.
+     */
+    LocalDateTime getTaskUpdatedAt(Long userId, Long taskId);
 
     TaskResponse createTask(Long userId, TaskRequest taskRequest);
 
+    List<TaskBatchResult> createTasks(Long userId, List<TaskRequest> taskRequests);
+
+    List<TaskBatchResult> updateTasks(Long userId, List<TaskBatchUpdateRequest> taskRequests);
+
+    List<TaskBatchResult> deleteTasks(Long userId, List<Long> taskIds);
+
     TaskResponse updateTask(Long userId, Long taskId, TaskRequest taskRequest);
 
     void deleteTask(Long userId, Long taskId);
@@ -1,22 +1,60 @@
 package com.example.taskmanagement.service;
 
+import com.example.taskmanagement.config.ReplicaRoutingDataSource;
 import com.example.taskmanagement.entity.User;
 import com.example.taskmanagement.repository.UserRepository;
 import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskDeletion;
 import com.example.taskmanagement.entity.TaskStatus;
 import com.example.taskmanagement.entity.TaskPriority;
 import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.payload.task.TaskBatchResult;
+import com.example.taskmanagement.payload.task.TaskBatchUpdateRequest;
+import com.example.taskmanagement.payload.task.TaskChanges;
+import com.example.taskmanagement.payload.task.TaskCursor;
+import com.example.taskmanagement.payload.task.TaskEvent;
+import com.example.taskmanagement.payload.task.TaskFilter;
+import com.example.taskmanagement.payload.task.TaskPage;
 import com.example.taskmanagement.payload.task.TaskRequest;
 import com.example.taskmanagement.payload.task.TaskResponse;
+import com.example.taskmanagement.payload.task.TaskSearchHit;
+import com.example.taskmanagement.payload.task.TaskStats;
+import com.example.taskmanagement.repository.TaskDeletionRepository;
 import com.example.taskmanagement.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("task.service")
 public class TaskServiceImpl implements TaskService {
 
     @Autowired
@@ -25,56 +63,419 @@ public class TaskServiceImpl implements TaskService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TaskDeletionRepository taskDeletionRepository;
+
+    @Autowired
+    private TaskEventBroadcaster eventBroadcaster;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private TaskCounters counters;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Only present when read replicas are configured.
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource replicaRouting;
+
+    @Value("${app.export.fetchSize:500}")
+    private int exportFetchSize;
+
+    @Value("${app.changes.safetyWindowMs:5000}")
+    private long changesSafetyWindowMs;
+
+    @Value("${app.changes.retentionHours:720}")
+    private long changesRetentionHours;
+
     @Override
-    public List<TaskResponse> getAllTasks(Long userId) {
-        List<Task> tasks = taskRepository.findAll();
-        return tasks.stream().map(this::mapToResponse).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public TaskPage getAllTasks(Long userId, TaskFilter filter, String cursor, int size, Predicate<String> unchanged) {
+        // Clients keep the page under its ETag, so it must not come from a lagging replica.
+        ReplicaRoutingDataSource.usePrimary();
+        // Read before the page and from the same database, so it is never newer than the rows.
+        String version = counters.version();
+        if (unchanged.test(version)) {
+            return TaskPage.unchanged(version);
+        }
+        TaskCursor after = cursor != null && !cursor.isBlank() ? TaskCursor.decode(cursor) : null;
+
+        // Fetch one extra row to learn whether another page exists without a count query.
+        List<Task> tasks = taskRepository.findPage(filter, after, size + 1);
+        boolean hasMore = tasks.size() > size;
+        if (hasMore) {
+            tasks = tasks.subList(0, size);
+        }
+
+        List<TaskResponse> items = mapWithAttachments(tasks);
+        String nextCursor = null;
+        if (hasMore) {
+            Task last = tasks.get(tasks.size() - 1);
+            nextCursor = new TaskCursor(last.getUpdatedAt(), last.getId()).encode();
+        }
+        return new TaskPage(items, nextCursor, version);
     }
 
     @Override
-    @Transactional
-    public TaskResponse createTask(Long userId, TaskRequest taskRequest) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    @Transactional(readOnly = true)
+    public void exportTasks(TaskFilter filter, Consumer<TaskResponse> sink) {
+        // The search index is rebuilt from this.
+        ReplicaRoutingDataSource.usePrimary();
+        try (Stream<Task> tasks = taskRepository.streamAll(filter, exportFetchSize)) {
+            List<Task> chunk = new ArrayList<>(exportFetchSize);
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == exportFetchSize) {
+                    exportChunk(chunk, sink);
+                }
+            }
+            exportChunk(chunk, sink);
+        }
+    }
 
-        Task task = new Task();
-        task.setTitle(taskRequest.getTitle());
-        task.setDescription(taskRequest.getDescription());
-        task.setStatus(TaskStatus.PENDING);
-        if (taskRequest.getStatus() != null) {
-            try {
-                task.setStatus(TaskStatus.valueOf(taskRequest.getStatus()));
-            } catch (IllegalArgumentException e) {
+    private void exportChunk(List<Task> chunk, Consumer<TaskResponse> sink) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<Long, List<String>> attachments = loadAttachments(chunk);
+        for (Task task : chunk) {
+            sink.accept(mapToResponse(task, attachments.getOrDefault(task.getId(), new ArrayList<>())));
+        }
+        // Detach what has been written so the persistence context stays one chunk deep.
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChanges getChanges(Long userId, Long since, int limit) {
+        // A replica behind by more than the safety window would hand out a watermark past
+        // changes it does not have yet, and the client would never see them.
+        ReplicaRoutingDataSource.usePrimary();
+        LocalDateTime now = LocalDateTime.now();
+        // Hand out a watermark slightly in the past so a write whose timestamp was taken just
+        // before this read but committed just after it is still picked up by the next call.
+        long watermark = toEpochMilli(now.minus(Duration.ofMillis(changesSafetyWindowMs)));
+        if (since == null || since < toEpochMilli(now.minusHours(changesRetentionHours))) {
+            return new TaskChanges(List.of(), List.of(), watermark, true);
+        }
+
+        LocalDateTime from = LocalDateTime.ofInstant(Instant.ofEpochMilli(since), ZoneId.systemDefault());
+        List<Task> changed = taskRepository.findChangedAfter(from, null, limit + 1);
+        List<Long> deleted = taskDeletionRepository.findTaskIdsDeletedAfter(from, Limit.of(limit + 1));
+        if (changed.size() > limit || deleted.size() > limit) {
+            return new TaskChanges(List.of(), List.of(), watermark, true);
+        }
+
+        return new TaskChanges(mapWithAttachments(changed), deleted, watermark, false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChanges getChangesPage(long since, String cursor, int limit) {
+        ReplicaRoutingDataSource.usePrimary();
+        LocalDateTime now = LocalDateTime.now();
+        long watermark = toEpochMilli(now.minus(Duration.ofMillis(changesSafetyWindowMs)));
+        if (since < toEpochMilli(now.minusHours(changesRetentionHours))) {
+            return new TaskChanges(List.of(), List.of(), watermark, true);
+        }
+
+        // The cursor is the position in the tasks ("t") or, once those are done, in the deletion
+        // log ("d"), both ordered by (timestamp, id).
+        LocalDateTime from = LocalDateTime.ofInstant(Instant.ofEpochMilli(since), ZoneId.systemDefault());
+        boolean inDeletions = cursor != null && cursor.startsWith("d");
+        TaskCursor position = cursor != null ? TaskCursor.decode(cursor.substring(1)) : null;
+
+        List<TaskResponse> items = List.of();
+        if (!inDeletions) {
+            List<Task> changed = taskRepository.findChangedAfter(from, position, limit + 1);
+            if (changed.size() > limit) {
+                changed = changed.subList(0, limit);
+                Task last = changed.get(limit - 1);
+                String next = "t" + new TaskCursor(last.getUpdatedAt(), last.getId()).encode();
+                return new TaskChanges(mapWithAttachments(changed), List.of(), watermark, false, next);
             }
+            items = mapWithAttachments(changed);
+            position = null;
         }
 
-        if (taskRequest.getPriority() != null) {
-            try {
-                task.setPriority(TaskPriority.valueOf(taskRequest.getPriority()));
-            } catch (IllegalArgumentException e) {
+        List<TaskDeletion> deletions = position != null
+                ? taskDeletionRepository.findDeletedAfter(from, position.getUpdatedAt(), position.getId(),
+                        Limit.of(limit + 1))
+                : taskDeletionRepository.findDeletedAfter(from, from, Long.MAX_VALUE, Limit.of(limit + 1));
+        String next = null;
+        if (deletions.size() > limit) {
+            deletions = deletions.subList(0, limit);
+            TaskDeletion last = deletions.get(limit - 1);
+            next = "d" + new TaskCursor(last.getDeletedAt(), last.getId()).encode();
+        }
+        return new TaskChanges(items, deletions.stream().map(TaskDeletion::getTaskId).toList(), watermark, false,
+                next);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskSearchHit> searchTasks(Long userId, String query, TaskFilter filter, int limit) {
+        List<TaskSearchIndex.Hit> hits = searchIndex.search(query, filter, limit);
+        List<Task> tasks = withoutCachePuts(() ->
+                taskRepository.findAllById(hits.stream().map(TaskSearchIndex.Hit::getTaskId).toList()));
+        Map<Long, List<String>> attachments = loadAttachments(tasks);
+        Map<Long, Task> byId = tasks.stream().collect(Collectors.toMap(Task::getId, task -> task));
+
+        // Keep the index's ranking; a hit whose task is already gone is skipped.
+        List<TaskSearchHit> results = new ArrayList<>(hits.size());
+        for (TaskSearchIndex.Hit hit : hits) {
+            Task task = byId.get(hit.getTaskId());
+            if (task != null) {
+                results.add(new TaskSearchHit(
+                        mapToResponse(task, attachments.getOrDefault(task.getId(), new ArrayList<>())),
+                        hit.getScore(), hit.getTitleHighlight(), hit.getDescriptionHighlight()));
             }
         }
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public TaskResponse createTask(Long userId, TaskRequest taskRequest) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
+        User assignedUser = null;
         if (taskRequest.getAssignedUserId() != null) {
-            User assignedUser = userRepository.findById(taskRequest.getAssignedUserId())
+            assignedUser = userRepository.findById(taskRequest.getAssignedUserId())
                     .orElseThrow(() -> new ResourceNotFoundException("Assigned User not found"));
-            task.setAssignedUser(assignedUser);
         }
 
+        Task task = new Task();
+        task.setStatus(TaskStatus.PENDING);
         task.setUser(user);
-        task.setDueDate(taskRequest.getDueDate());
-        task.setAttachments(taskRequest.getAttachments());
+        applyRequest(task, taskRequest, assignedUser);
 
         Task savedTask = taskRepository.save(task);
-        return mapToResponse(savedTask);
+        counters.taskChanged(null, savedTask);
+        TaskResponse response = mapToResponse(savedTask);
+        taskChanged(new TaskEvent(TaskEvent.CREATED, response.getId(), response));
+        return response;
     }
 
     @Override
     @Transactional
     public TaskResponse updateTask(Long userId, Long taskId, TaskRequest taskRequest) {
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findForUpdateById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+
+        User assignedUser = null;
+        if (taskRequest.getAssignedUserId() != null) {
+            assignedUser = userRepository.findById(taskRequest.getAssignedUserId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Assigned User not found"));
+        }
+        List<TaskCounters.Key> before = counters.keysOf(task);
+        applyRequest(task, taskRequest, assignedUser);
+        task.touch();
+
+        Task updatedTask = taskRepository.save(task);
+        counters.taskChanged(before, updatedTask);
+        TaskResponse response = mapToResponse(updatedTask);
+        taskChanged(new TaskEvent(TaskEvent.UPDATED, response.getId(), response));
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public void deleteTask(Long userId, Long taskId) {
+        Task task = taskRepository.findForUpdateById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+
+        counters.taskChanged(counters.keysOf(task), null);
+        taskRepository.delete(task);
+        taskDeletionRepository.save(new TaskDeletion(taskId));
+        taskChanged(new TaskEvent(TaskEvent.DELETED, taskId, null));
+    }
+
+    @Override
+    @Transactional
+    public List<TaskBatchResult> createTasks(Long userId, List<TaskRequest> taskRequests) {
+        List<TaskBatchResult> results = new ArrayList<>(Collections.nCopies(taskRequests.size(), null));
+        Map<Long, User> users = loadUsers(userId, taskRequests);
+        User user = users.get(userId);
+        if (user == null) {
+            throw new ResourceNotFoundException("User not found");
+        }
+
+        List<Integer> indexes = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < taskRequests.size(); i++) {
+            TaskRequest taskRequest = taskRequests.get(i);
+            TaskBatchResult failure = validate(i, null, taskRequest, users);
+            if (failure != null) {
+                results.set(i, failure);
+                continue;
+            }
+
+            Task task = new Task();
+            task.setStatus(TaskStatus.PENDING);
+            task.setUser(user);
+            applyRequest(task, taskRequest, users.get(taskRequest.getAssignedUserId()));
+            indexes.add(i);
+            tasks.add(task);
+        }
+
+        // Ids come from the pooled sequence, so saveAll only queues the inserts and the flush
+        // sends them in JDBC batches of hibernate.jdbc.batch_size.
+        taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        tasks.forEach(task -> counters.taskChanged(null, task));
+
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskResponse response = mapToResponse(tasks.get(i));
+            results.set(indexes.get(i), TaskBatchResult.success(indexes.get(i), 201, response));
+            taskChanged(new TaskEvent(TaskEvent.CREATED, response.getId(), response));
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public List<TaskBatchResult> updateTasks(Long userId, List<TaskBatchUpdateRequest> taskRequests) {
+        List<TaskBatchResult> results = new ArrayList<>(Collections.nCopies(taskRequests.size(), null));
+        Map<Long, User> users = loadUsers(null, taskRequests);
+        Map<Long, Task> tasks = taskRepository.findAllForUpdateById(taskRequests.stream()
+                .map(TaskBatchUpdateRequest::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+
+        List<Integer> indexes = new ArrayList<>();
+        List<Task> updated = new ArrayList<>();
+        for (int i = 0; i < taskRequests.size(); i++) {
+            TaskBatchUpdateRequest taskRequest = taskRequests.get(i);
+            TaskBatchResult failure = validate(i, taskRequest != null ? taskRequest.getId() : null, taskRequest,
+                    users);
+            if (failure != null) {
+                results.set(i, failure);
+                continue;
+            }
+            Task task = tasks.get(taskRequest.getId());
+            if (task == null) {
+                results.set(i, TaskBatchResult.failure(i, 404, taskRequest.getId(), "Task not found"));
+                continue;
+            }
+
+            List<TaskCounters.Key> before = counters.keysOf(task);
+            applyRequest(task, taskRequest, users.get(taskRequest.getAssignedUserId()));
+            task.touch();
+            counters.taskChanged(before, task);
+            indexes.add(i);
+            updated.add(task);
+        }
+
+        taskRepository.flush();
+
+        for (int i = 0; i < updated.size(); i++) {
+            TaskResponse response = mapToResponse(updated.get(i));
+            results.set(indexes.get(i), TaskBatchResult.success(indexes.get(i), 200, response));
+            taskChanged(new TaskEvent(TaskEvent.UPDATED, response.getId(), response));
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public List<TaskBatchResult> deleteTasks(Long userId, List<Long> taskIds) {
+        Map<Long, Task> tasks = taskRepository.findAllForUpdateById(taskIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+
+        List<TaskBatchResult> results = new ArrayList<>(taskIds.size());
+        for (int i = 0; i < taskIds.size(); i++) {
+            Long taskId = taskIds.get(i);
+            if (taskId == null || !tasks.containsKey(taskId)) {
+                results.add(TaskBatchResult.failure(i, 404, taskId, "Task not found"));
+            } else {
+                results.add(new TaskBatchResult(i, 204, taskId, null, null));
+            }
+        }
+
+        tasks.values().forEach(task -> counters.taskChanged(counters.keysOf(task), null));
+        taskRepository.deleteAll(tasks.values());
+        taskDeletionRepository.saveAll(tasks.keySet().stream().map(TaskDeletion::new).toList());
+        taskRepository.flush();
+        tasks.keySet().forEach(taskId -> taskChanged(new TaskEvent(TaskEvent.DELETED, taskId, null)));
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskStats getStats() {
+        // From the same database as the task list, so the counts agree with it.
+        ReplicaRoutingDataSource.usePrimary();
+        return counters.stats();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LocalDateTime getTaskUpdatedAt(Long userId, Long taskId) {
+        return taskRepository.findUpdatedAtById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(Long userId, Long taskId) {
+        Task task = withoutCachePuts(() -> taskRepository.findWithDetailsById(taskId))
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
 
+        return mapToResponse(task);
+    }
+
+    /**
+     * Runs a read that may be answered by a replica without storing what it loads in the
+     * second-level cache: this instance's later reads would be served the lagging copy even
+     * when they go to the primary. It still reads from the cache.
+     */
+    private <T> T withoutCachePuts(Supplier<T> read) {
+        if (replicaRouting == null) {
+            return read.get();
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previous = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        try {
+            return read.get();
+        } finally {
+            session.setCacheMode(previous);
+        }
+    }
+
+    // Pushes the change to stream subscribers and the search index once the transaction commits.
+    private List<TaskResponse> mapWithAttachments(List<Task> tasks) {
+        Map<Long, List<String>> attachments = loadAttachments(tasks);
+        return tasks.stream()
+                .map(task -> mapToResponse(task, attachments.getOrDefault(task.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    private void taskChanged(TaskEvent event) {
+        eventBroadcaster.publish(event);
+        searchIndex.apply(event);
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private void applyRequest(Task task, TaskRequest taskRequest, User assignedUser) {
         task.setTitle(taskRequest.getTitle());
         task.setDescription(taskRequest.getDescription());
         if (taskRequest.getStatus() != null) {
@@ -87,41 +488,71 @@ public class TaskServiceImpl implements TaskService {
             try {
                 task.setPriority(TaskPriority.valueOf(taskRequest.getPriority()));
             } catch (IllegalArgumentException e) {
-
             }
         }
-
-        if (taskRequest.getAssignedUserId() != null) {
-            User assignedUser = userRepository.findById(taskRequest.getAssignedUserId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Assigned User not found"));
+        if (assignedUser != null) {
             task.setAssignedUser(assignedUser);
         }
-
         task.setDueDate(taskRequest.getDueDate());
         task.setAttachments(taskRequest.getAttachments());
-
-        Task updatedTask = taskRepository.save(task);
-        return mapToResponse(updatedTask);
     }
 
-    @Override
-    @Transactional
-    public void deleteTask(Long userId, Long taskId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    /**
+     * Resolves the owner and every assignee referenced by a batch with a single query.
+     */
+    private Map<Long, User> loadUsers(Long userId, List<? extends TaskRequest> taskRequests) {
+        Set<Long> userIds = new HashSet<>();
+        if (userId != null) {
+            userIds.add(userId);
+        }
+        for (TaskRequest taskRequest : taskRequests) {
+            if (taskRequest != null && taskRequest.getAssignedUserId() != null) {
+                userIds.add(taskRequest.getAssignedUserId());
+            }
+        }
+        return userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+    }
 
-        taskRepository.delete(task);
+    /**
+     * Checks one batch item the way the single-task endpoints would, returning its failure
+     * result or null if the item can be applied.
+     */
+    private TaskBatchResult validate(int index, Long taskId, TaskRequest taskRequest, Map<Long, User> users) {
+        if (taskRequest == null) {
+            return TaskBatchResult.failure(index, 400, taskId, "Task is required");
+        }
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(taskRequest);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return TaskBatchResult.failure(index, 400, taskId, message);
+        }
+        if (taskRequest.getAssignedUserId() != null && !users.containsKey(taskRequest.getAssignedUserId())) {
+            return TaskBatchResult.failure(index, 404, taskId, "Assigned User not found");
+        }
+        return null;
     }
 
-    @Override
-    public TaskResponse getTaskById(Long userId, Long taskId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    private Map<Long, List<String>> loadAttachments(List<Task> tasks) {
+        Map<Long, List<String>> attachments = new HashMap<>();
+        if (tasks.isEmpty()) {
+            return attachments;
+        }
+        List<Long> taskIds = tasks.stream().map(Task::getId).collect(Collectors.toList());
+        for (Object[] row : taskRepository.findAttachmentsByTaskIds(taskIds)) {
+            attachments.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return attachments;
+    }
 
-        return mapToResponse(task);
+    TaskResponse mapToResponse(Task task) {
+        return mapToResponse(task, task.getAttachments());
     }
 
-    private TaskResponse mapToResponse(Task task) {
+    private TaskResponse mapToResponse(Task task, List<String> attachments) {
         return new TaskResponse(
                 task.getId(),
                 task.getTitle(),
@@ -130,7 +561,7 @@ public class TaskServiceImpl implements TaskService {
                 task.getCreatedAt(),
                 task.getUpdatedAt(),
                 task.getDueDate(),
-                task.getAttachments(),
+                attachments,
                 task.getPriority(),
                 task.getAssignedUser() != null ? task.getAssignedUser().getId() : null,
                 task.getAssignedUser() != null ? task.getAssignedUser().getUsername() : null);
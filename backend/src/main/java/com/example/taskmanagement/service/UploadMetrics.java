@@ -0,0 +1,50 @@
+package com.example.taskmanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes received by the upload endpoints. {@code rate(uploads_received_bytes_total[1m])} is the
+ * aggregate upload throughput; {@code uploads.throughput} is the rate of each individual
+ * transfer, so slow clients show up in its lower percentiles.
+ */
+@Component
+public class UploadMetrics {
+
+    public static final String MULTIPART = "multipart";
+
+    public static final String CHUNK = "chunk";
+
+    private final MeterRegistry meterRegistry;
+
+    public UploadMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records {@code bytes} received over {@code nanos}. Multipart bodies are read by the
+     * container before the controller runs, so they are recorded with no duration and only
+     * count towards the byte total.
+     */
+    public void record(String source, long bytes, long nanos) {
+        Counter.builder("uploads.received")
+                .baseUnit("bytes")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment(bytes);
+        if (bytes > 0 && nanos > 0) {
+            DistributionSummary.builder("uploads.throughput")
+                    .baseUnit("bytes.per.second")
+                    .tag("source", source)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1024.0)
+                    .maximumExpectedValue(10.0 * 1024 * 1024 * 1024)
+                    .register(meterRegistry)
+                    .record(bytes * (double) TimeUnit.SECONDS.toNanos(1) / nanos);
+        }
+    }
+}
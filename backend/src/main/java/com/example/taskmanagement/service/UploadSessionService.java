@@ -0,0 +1,28 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.payload.upload.UploadSessionRequest;
+import com.example.taskmanagement.payload.upload.UploadSessionResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UploadSessionService {
+    UploadSessionResponse createSession(String owner, UploadSessionRequest request) throws IOException;
+
+    /**
+     * Writes {@code length} bytes from {@code body} at {@code offset}. Chunks may arrive in any
+     * order and in parallel; bytes written before a client disconnects are kept.
+     */
+    UploadSessionResponse writeChunk(String owner, String uploadId, long offset, long length, InputStream body)
+            throws IOException;
+
+    UploadSessionResponse getSession(String owner, String uploadId);
+
+    /**
+     * Moves a fully received upload into the attachment store and returns its public file name.
+     * Refused while a chunk is still being written; chunks sent after it started are refused.
+     */
+    String completeSession(String owner, String uploadId) throws IOException;
+
+    void abortSession(String owner, String uploadId) throws IOException;
+}
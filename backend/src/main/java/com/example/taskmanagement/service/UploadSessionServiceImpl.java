@@ -0,0 +1,270 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.exception.BadRequestException;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.exception.TooManyRequestsException;
+import com.example.taskmanagement.payload.upload.UploadSessionRequest;
+import com.example.taskmanagement.payload.upload.UploadSessionResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resumable uploads. Each session owns a file in the store's incoming directory; chunks are read
+ * straight from the request body and written at their offset with positional channel writes,
+ * so nothing is spooled to a multipart temp file first. Sessions live in memory and expire
+ * after a period without activity. Each user may hold a bounded number at once, since every
+ * session can claim up to {@code app.upload.maxSize} of disk.
+ */
+@Service
+public class UploadSessionServiceImpl implements UploadSessionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadSessionServiceImpl.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private AttachmentStorageService storageService;
+
+    @Autowired
+    private UploadMetrics uploadMetrics;
+
+    @Value("${app.upload.maxSize:5368709120}")
+    private long maxSize;
+
+    @Value("${app.upload.maxChunkSize:67108864}")
+    private long maxChunkSize;
+
+    @Value("${app.upload.sessionTtlMinutes:1440}")
+    private long sessionTtlMinutes;
+
+    @Value("${app.upload.maxSessionsPerUser:8}")
+    private int maxSessionsPerUser;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public UploadSessionResponse createSession(String owner, UploadSessionRequest request) throws IOException {
+        if (request.getSize() > maxSize) {
+            throw new BadRequestException("File size exceeds the limit of " + maxSize + " bytes");
+        }
+        String fileName = StringUtils.cleanPath(request.getFileName());
+        if (fileName.contains("..")) {
+            throw new BadRequestException("Filename contains invalid path sequence " + fileName);
+        }
+
+        UploadSession session;
+        // Counting and adding under one lock so concurrent requests cannot overshoot the limit.
+        synchronized (sessions) {
+            long open = sessions.values().stream().filter(existing -> existing.owner.equals(owner)).count();
+            if (open >= maxSessionsPerUser) {
+                throw new TooManyRequestsException("Too many open uploads; complete or abort one first");
+            }
+            session = new UploadSession(UUID.randomUUID().toString(), owner, fileName,
+                    request.getSize(), storageService.newIncomingFile());
+            sessions.put(session.id, session);
+        }
+        return session.toResponse();
+    }
+
+    @Override
+    public UploadSessionResponse writeChunk(String owner, String uploadId, long offset, long length, InputStream body)
+            throws IOException {
+        UploadSession session = find(owner, uploadId);
+        if (length < 0) {
+            throw new BadRequestException("Content-Length is required");
+        }
+        if (length > maxChunkSize) {
+            throw new BadRequestException("Chunk exceeds the limit of " + maxChunkSize + " bytes");
+        }
+        if (offset < 0 || offset + length > session.size) {
+            throw new BadRequestException("Chunk at offset " + offset + " does not fit in " + session.size + " bytes");
+        }
+
+        session.beginWrite();
+        long start = System.nanoTime();
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(session.file, StandardOpenOption.WRITE)) {
+            ReadableByteChannel source = Channels.newChannel(body);
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(length, 1)));
+            while (written < length) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), length - written));
+                if (source.read(buffer) < 0) {
+                    break;
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer, offset + written);
+                }
+            }
+        } finally {
+            // Keep whatever reached the disk, even if the client went away mid-chunk.
+            session.received(offset, offset + written);
+            uploadMetrics.record(UploadMetrics.CHUNK, written, System.nanoTime() - start);
+        }
+        return session.toResponse();
+    }
+
+    @Override
+    public UploadSessionResponse getSession(String owner, String uploadId) {
+        return find(owner, uploadId).toResponse();
+    }
+
+    @Override
+    public String completeSession(String owner, String uploadId) throws IOException {
+        UploadSession session = find(owner, uploadId);
+        session.startCompleting();
+        if (!sessions.remove(uploadId, session)) {
+            throw new ResourceNotFoundException("Upload session not found with id: " + uploadId);
+        }
+        return storageService.storeFile(session.file, session.fileName);
+    }
+
+    @Override
+    public void abortSession(String owner, String uploadId) throws IOException {
+        UploadSession session = find(owner, uploadId);
+        if (sessions.remove(uploadId, session)) {
+            Files.deleteIfExists(session.file);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.upload.sessionSweepIntervalMs:600000}")
+    public void expireSessions() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(sessionTtlMinutes));
+        Iterator<UploadSession> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            UploadSession session = iterator.next();
+            if (session.lastActivity.isBefore(cutoff)) {
+                iterator.remove();
+                try {
+                    Files.deleteIfExists(session.file);
+                } catch (IOException e) {
+                    logger.warn("Could not delete expired upload {}: {}", session.id, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private UploadSession find(String owner, String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || !session.owner.equals(owner)) {
+            throw new ResourceNotFoundException("Upload session not found with id: " + uploadId);
+        }
+        return session;
+    }
+
+    static class UploadSession {
+        final String id;
+        final String owner;
+        final String fileName;
+        final long size;
+        final Path file;
+
+        /** Received byte ranges as start to end (exclusive), kept merged. */
+        private final TreeMap<Long, Long> ranges = new TreeMap<>();
+
+        private volatile Instant lastActivity = Instant.now();
+
+        /** Chunks being written to the file right now. */
+        private int writers;
+
+        /** Set once the file is handed to storage; no chunk may be written after that. */
+        private boolean completing;
+
+        UploadSession(String id, String owner, String fileName, long size, Path file) {
+            this.id = id;
+            this.owner = owner;
+            this.fileName = fileName;
+            this.size = size;
+            this.file = file;
+        }
+
+        synchronized void beginWrite() {
+            if (completing) {
+                throw new ResourceNotFoundException("Upload session not found with id: " + id);
+            }
+            writers++;
+        }
+
+        /** Ends a write started with {@link #beginWrite()}, recording the bytes it wrote. */
+        synchronized void received(long start, long end) {
+            writers--;
+            lastActivity = Instant.now();
+            if (end <= start) {
+                return;
+            }
+            Map.Entry<Long, Long> floor = ranges.floorEntry(start);
+            if (floor != null && floor.getValue() >= start) {
+                start = floor.getKey();
+                end = Math.max(end, floor.getValue());
+            }
+            Map.Entry<Long, Long> next = ranges.ceilingEntry(start);
+            while (next != null && next.getKey() <= end) {
+                end = Math.max(end, next.getValue());
+                ranges.remove(next.getKey());
+                next = ranges.ceilingEntry(start);
+            }
+            ranges.put(start, end);
+        }
+
+        synchronized long receivedBytes() {
+            long total = 0;
+            for (Map.Entry<Long, Long> range : ranges.entrySet()) {
+                total += range.getValue() - range.getKey();
+            }
+            return total;
+        }
+
+        synchronized boolean isComplete() {
+            return ranges.size() == 1 && ranges.firstKey() == 0 && ranges.firstEntry().getValue() == size;
+        }
+
+        /**
+         * Refuses while bytes are missing or a chunk is still being written, which could change
+         * the file after its digest has been taken. From then on no chunk is accepted.
+         */
+        synchronized void startCompleting() {
+            if (completing) {
+                throw new ResourceNotFoundException("Upload session not found with id: " + id);
+            }
+            if (!isComplete()) {
+                throw new BadRequestException("Upload " + id + " is missing " + (size - receivedBytes()) + " bytes");
+            }
+            if (writers > 0) {
+                throw new BadRequestException("Upload " + id + " still has a chunk being written");
+            }
+            completing = true;
+        }
+
+        synchronized UploadSessionResponse toResponse() {
+            List<String> received = new ArrayList<>(ranges.size());
+            for (Map.Entry<Long, Long> range : ranges.entrySet()) {
+                received.add(range.getKey() + "-" + (range.getValue() - 1));
+            }
+            return new UploadSessionResponse(id, fileName, size, receivedBytes(), received);
+        }
+    }
+}
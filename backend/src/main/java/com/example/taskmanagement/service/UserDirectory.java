@@ -0,0 +1,176 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.payload.user.UserSummary;
+import com.example.taskmanagement.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Every user's id, username and email in sorted in-memory indexes, so the assignee picker can
+ * search by prefix without touching the database. Changes made through JPA are applied after
+ * commit; a periodic rebuild picks up users written by other instances.
+ */
+@Component
+@ManagedResource(objectName = "taskmanagement:type=Users,name=UserDirectory")
+public class UserDirectory {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private volatile Index index = new Index();
+
+    // Changes applied while a rebuild is loading, replayed onto the new index before it is
+    // published. Null when no rebuild is running. Guarded by this.
+    private List<Entry> changedDuringRebuild;
+
+    @PostConstruct
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.userDirectory.refreshIntervalMs:300000}",
+            initialDelayString = "${app.userDirectory.refreshIntervalMs:300000}")
+    public void rebuild() {
+        synchronized (this) {
+            changedDuringRebuild = new ArrayList<>();
+        }
+        Index loaded = new Index();
+        for (Object[] row : userRepository.findDirectoryEntries()) {
+            loaded.put(new Entry((Long) row[0], (String) row[1], (String) row[2]));
+        }
+        synchronized (this) {
+            for (Entry change : changedDuringRebuild) {
+                loaded.apply(change);
+            }
+            changedDuringRebuild = null;
+            index = loaded;
+        }
+    }
+
+    /**
+     * Up to {@code limit} users whose username starts with {@code query}, in username order,
+     * followed by users matched only by email. Matching ignores case; an empty query lists
+     * users from the start of the alphabet.
+     */
+    public List<UserSummary> search(String query, int limit) {
+        String prefix = normalize(query);
+        Index current = index;
+        Map<Long, UserSummary> results = new LinkedHashMap<>();
+        collect(current.byUsername, prefix, limit, results);
+        if (!prefix.isEmpty()) {
+            collect(current.byEmail, prefix, limit, results);
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    public void put(Long id, String username, String email) {
+        afterCommit(new Entry(id, username, email));
+    }
+
+    public void remove(Long id) {
+        afterCommit(new Entry(id, null, null));
+    }
+
+    @ManagedAttribute
+    public int getSize() {
+        return index.byId.size();
+    }
+
+    private void afterCommit(Entry change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private synchronized void apply(Entry change) {
+        index.apply(change);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(change);
+        }
+    }
+
+    private static void collect(NavigableMap<String, Entry> entries, String prefix, int limit,
+            Map<Long, UserSummary> results) {
+        for (Map.Entry<String, Entry> candidate : entries.tailMap(prefix, true).entrySet()) {
+            if (results.size() >= limit || !candidate.getKey().startsWith(prefix)) {
+                return;
+            }
+            Entry entry = candidate.getValue();
+            results.putIfAbsent(entry.id, entry.summary);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Entry {
+        private final Long id;
+        private final UserSummary summary;
+        // Sort keys; the id suffix keeps case-insensitive duplicates apart.
+        private final String usernameKey;
+        private final String emailKey;
+
+        Entry(Long id, String username, String email) {
+            this.id = id;
+            this.summary = username != null ? new UserSummary(id, username) : null;
+            this.usernameKey = username != null ? normalize(username) + '\0' + id : null;
+            this.emailKey = email != null ? normalize(email) + '\0' + id : null;
+        }
+    }
+
+    private static class Index {
+        private final NavigableMap<String, Entry> byUsername = new ConcurrentSkipListMap<>();
+        private final NavigableMap<String, Entry> byEmail = new ConcurrentSkipListMap<>();
+        private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+
+        void apply(Entry change) {
+            if (change.summary == null) {
+                remove(change.id);
+            } else {
+                put(change);
+            }
+        }
+
+        void put(Entry entry) {
+            remove(entry.id);
+            byId.put(entry.id, entry);
+            byUsername.put(entry.usernameKey, entry);
+            if (entry.emailKey != null) {
+                byEmail.put(entry.emailKey, entry);
+            }
+        }
+
+        void remove(Long id) {
+            Entry previous = byId.remove(id);
+            if (previous != null) {
+                byUsername.remove(previous.usernameKey);
+                if (previous.emailKey != null) {
+                    byEmail.remove(previous.emailKey);
+                }
+            }
+        }
+    }
+}
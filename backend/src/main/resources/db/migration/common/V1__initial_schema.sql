@@ -0,0 +1,47 @@
+-- Schema as Hibernate's ddl-auto=update left it. Databases created that way are baselined at
+-- this version (spring.flyway.baseline-on-migrate) and pick up from V2.
+
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE task_deletions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username         VARCHAR(255) NOT NULL,
+    email            VARCHAR(255) NOT NULL,
+    password         VARCHAR(255) NOT NULL,
+    role             VARCHAR(255),
+    security_version BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE tasks (
+    id               BIGINT PRIMARY KEY,
+    title            VARCHAR(255) NOT NULL,
+    description      TEXT,
+    status           VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED')),
+    priority         VARCHAR(255) NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    user_id          BIGINT NOT NULL,
+    assigned_user_id BIGINT,
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6),
+    due_date         TIMESTAMP(6),
+    CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_tasks_assigned_user FOREIGN KEY (assigned_user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_tasks_updated_at_id ON tasks (updated_at, id);
+
+CREATE TABLE task_attachments (
+    task_id  BIGINT NOT NULL,
+    file_url VARCHAR(255),
+    CONSTRAINT fk_task_attachments_task FOREIGN KEY (task_id) REFERENCES tasks (id)
+);
+
+CREATE TABLE task_deletions (
+    id         BIGINT PRIMARY KEY,
+    task_id    BIGINT NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_task_deletions_deleted_at ON task_deletions (deleted_at);
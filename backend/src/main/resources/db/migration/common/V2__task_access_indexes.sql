@@ -0,0 +1,13 @@
+-- Indexes for the task list filters and ownership lookups. Foreign keys are not indexed
+-- automatically, so without these every filtered page and every attachment batch scans.
+
+-- GET /tasks?assignedUserId=&status=: the equality columns, then the seek order, so a filtered
+-- page reads its rows already sorted and stops at the limit. A due-date range is checked on
+-- those rows; leading with due_date instead would force a sort of every match on each page.
+CREATE INDEX IF NOT EXISTS idx_tasks_assigned_status_updated_at_id ON tasks (assigned_user_id, status, updated_at, id);
+
+-- A user's own tasks in seek order; also serves the cascade when a user is deleted.
+CREATE INDEX IF NOT EXISTS idx_tasks_user_updated_at_id ON tasks (user_id, updated_at, id);
+
+-- Attachments are loaded per page of task ids.
+CREATE INDEX IF NOT EXISTS idx_task_attachments_task_id ON task_attachments (task_id);
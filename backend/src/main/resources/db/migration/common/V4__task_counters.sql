@@ -0,0 +1,29 @@
+-- Task counts behind GET /tasks/stats, kept up to date by the transactions that write tasks.
+-- Each count is spread over stripes so concurrent writers rarely wait on the same row; the
+-- count of a bucket is the sum over its stripes. Buckets: status, priority, assignee (user id
+-- or 'none') and due (ISO date, open tasks only).
+
+CREATE TABLE task_counters (
+    dimension  VARCHAR(16) NOT NULL,
+    bucket     VARCHAR(32) NOT NULL,
+    stripe     INTEGER     NOT NULL,
+    task_count BIGINT      NOT NULL,
+    CONSTRAINT pk_task_counters PRIMARY KEY (dimension, bucket, stripe)
+);
+
+INSERT INTO task_counters (dimension, bucket, stripe, task_count)
+SELECT 'status', status, 0, COUNT(*) FROM tasks GROUP BY status;
+
+INSERT INTO task_counters (dimension, bucket, stripe, task_count)
+SELECT 'priority', priority, 0, COUNT(*) FROM tasks GROUP BY priority;
+
+INSERT INTO task_counters (dimension, bucket, stripe, task_count)
+SELECT 'assignee', COALESCE(CAST(assigned_user_id AS VARCHAR(32)), 'none'), 0, COUNT(*)
+FROM tasks
+GROUP BY assigned_user_id;
+
+INSERT INTO task_counters (dimension, bucket, stripe, task_count)
+SELECT 'due', CAST(CAST(due_date AS DATE) AS VARCHAR(32)), 0, COUNT(*)
+FROM tasks
+WHERE status <> 'COMPLETED' AND due_date IS NOT NULL
+GROUP BY CAST(due_date AS DATE);
@@ -0,0 +1,14 @@
+-- jti of every revoked access and refresh token, kept until the token would have expired
+-- anyway. Shared by all instances and kept across restarts; each instance holds a copy in
+-- memory for the per-request check.
+
+CREATE TABLE revoked_tokens (
+    jti        VARCHAR(64)  NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_revoked_tokens PRIMARY KEY (jti)
+);
+
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
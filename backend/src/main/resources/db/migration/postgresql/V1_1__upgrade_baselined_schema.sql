@@ -0,0 +1,23 @@
+-- Brings a database baselined at V1 up to what V1 creates. Such a database was made by
+-- ddl-auto=update from the entities before V1 existed: task ids come from an IDENTITY column,
+-- and tasks_seq, users.security_version and the deletion log are missing. Every statement is
+-- a no-op on a database created by V1. V3 then moves tasks_seq past the existing ids.
+
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS task_deletions_seq START WITH 1 INCREMENT BY 50;
+
+-- Hibernate hands out ids from tasks_seq in blocks of 50, so the column gets no default:
+-- a nextval() default would give manual inserts ids from a block Hibernate is still using.
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS security_version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_at_id ON tasks (updated_at, id);
+
+CREATE TABLE IF NOT EXISTS task_deletions (
+    id         BIGINT PRIMARY KEY,
+    task_id    BIGINT NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_deletions_deleted_at ON task_deletions (deleted_at);
@@ -0,0 +1,4 @@
+-- Task ids used to come from an IDENTITY column. On a database that already held tasks when
+-- tasks_seq was introduced, the sequence starts at 1 and would hand out ids that are taken, so
+-- move it past the current maximum. A no-op on databases created by V1.
+SELECT setval('tasks_seq', GREATEST((SELECT last_value FROM tasks_seq), (SELECT COALESCE(MAX(id), 0) + 50 FROM tasks)));
@@ -0,0 +1,331 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskPriority;
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.exception.BadRequestException;
+import com.example.taskmanagement.exception.ResourceNotFoundException;
+import com.example.taskmanagement.payload.upload.UploadSessionRequest;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.UserDetailsImpl;
+import com.example.taskmanagement.service.AttachmentStorageService;
+import com.example.taskmanagement.service.AttachmentSweeper;
+import com.example.taskmanagement.service.UploadSessionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AttachmentStorageTest {
+
+        private static final String DIGEST_OF_REPORT = "07da4984cc545b940a1ed292475591bc0dea3044a438bb021db0a0f575c74418";
+
+        @TempDir
+        static Path uploadDir;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private AttachmentStorageService storageService;
+
+        @Autowired
+        private AttachmentSweeper sweeper;
+
+        @Autowired
+        private UploadSessionService uploadSessionService;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @DynamicPropertySource
+        static void storageProperties(DynamicPropertyRegistry registry) {
+                registry.add("app.upload.dir", () -> uploadDir.toString());
+                registry.add("app.storage.orphanGraceMinutes", () -> "5");
+        }
+
+        @BeforeEach
+        public void setUp() {
+                taskRepository.deleteAll();
+                userRepository.deleteAll();
+        }
+
+        @Test
+        public void uploadFile_SameContentTwice_StoresOneBlob() throws Exception {
+                byte[] content = "quarterly report".getBytes(StandardCharsets.UTF_8);
+                String first = upload(new MockMultipartFile("file", "report.PDF", "application/pdf", content));
+                long blobsAfterFirst = countBlobs();
+                String second = upload(new MockMultipartFile("file", "copy.pdf", "application/pdf", content));
+
+                assertEquals(DIGEST_OF_REPORT + ".pdf", first);
+                assertEquals(first, second);
+                assertEquals(blobsAfterFirst, countBlobs());
+                assertTrue(Files.exists(storageService.resolve(first)));
+
+                mockMvc.perform(get("/uploads/" + first))
+                                .andExpect(status().isOk())
+                                .andExpect(content().bytes(content));
+        }
+
+        @Test
+        public void sweep_RemovesOnlyUnreferencedBlobsPastGracePeriod() throws Exception {
+                String referenced = storageService.store(stream("referenced"), "a.txt");
+                String orphan = storageService.store(stream("orphan"), "b.txt");
+                String fresh = storageService.store(stream("fresh orphan"), "c.txt");
+                age(referenced);
+                age(orphan);
+
+                User owner = userRepository.save(new User("storage", "storage@example.com", "secret", "ROLE_USER"));
+                Task task = new Task("Task", "Description", owner, LocalDateTime.now(), TaskPriority.LOW);
+                task.setAttachments(List.of("http://localhost/uploads/" + referenced,
+                                "http://localhost/uploads/" + referenced));
+                taskRepository.save(task);
+
+                assertEquals(2, sweeper.referenceCounts().get(storageService.digestOf(referenced)));
+                assertEquals(1, sweeper.sweep());
+
+                assertTrue(Files.exists(storageService.resolve(referenced)));
+                assertFalse(Files.exists(storageService.resolve(orphan)));
+                assertTrue(Files.exists(storageService.resolve(fresh)));
+        }
+
+        @Test
+        public void store_BlobSweptMeanwhile_StoresItAgain() throws Exception {
+                String first = storageService.store(stream("swept"), "a.txt");
+                Path blob = storageService.resolve(first);
+                Files.delete(blob);
+
+                assertEquals(first, storageService.store(stream("swept"), "b.txt"));
+                assertTrue(Files.exists(blob));
+        }
+
+        @Test
+        public void sweep_InterruptedSweepLeftover_IsRestored() throws Exception {
+                String referenced = storageService.store(stream("interrupted"), "a.txt");
+                Path blob = storageService.resolve(referenced);
+                Path leftover = blob.resolveSibling("." + blob.getFileName() + ".sweep");
+                Files.move(blob, leftover);
+
+                sweeper.sweep();
+
+                assertTrue(Files.exists(blob));
+                assertFalse(Files.exists(leftover));
+        }
+
+        @Test
+        public void resumableUpload_ChunksOutOfOrder_StoresSameBlobAsMultipart() throws Exception {
+                UserDetailsImpl uploader = principal(1L, "uploader");
+                byte[] content = "quarterly report".getBytes(StandardCharsets.UTF_8);
+
+                String body = mockMvc.perform(post("/files/uploads").with(user(uploader))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"fileName\":\"report.pdf\",\"size\":16}"))
+                                .andExpect(status().isCreated())
+                                .andExpect(jsonPath("$.receivedBytes").value(0))
+                                .andReturn().getResponse().getContentAsString();
+                String uploadId = objectMapper.readTree(body).get("uploadId").asText();
+
+                mockMvc.perform(put("/files/uploads/" + uploadId).param("offset", "10").with(user(uploader))
+                                .content(Arrays.copyOfRange(content, 10, 16)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.receivedRanges[0]").value("10-15"));
+
+                mockMvc.perform(post("/files/uploads/" + uploadId + "/complete").with(user(uploader)))
+                                .andExpect(status().isBadRequest());
+                mockMvc.perform(get("/files/uploads/" + uploadId).with(user(principal(2L, "intruder"))))
+                                .andExpect(status().isNotFound());
+
+                mockMvc.perform(put("/files/uploads/" + uploadId).param("offset", "0").with(user(uploader))
+                                .content(Arrays.copyOfRange(content, 0, 10)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.receivedRanges[0]").value("0-15"))
+                                .andExpect(jsonPath("$.complete").value(true));
+
+                mockMvc.perform(post("/files/uploads/" + uploadId + "/complete").with(user(uploader)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.fileName").value(DIGEST_OF_REPORT + ".pdf"));
+                mockMvc.perform(get("/files/uploads/" + uploadId).with(user(uploader)))
+                                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        public void resumableUpload_CompleteWhileChunkIsWritten_RefusedUntilItIsDone() throws Exception {
+                byte[] content = "quarterly report".getBytes(StandardCharsets.UTF_8);
+                UploadSessionRequest request = new UploadSessionRequest();
+                request.setFileName("report.pdf");
+                request.setSize(16L);
+                String uploadId = uploadSessionService.createSession("racer", request).getUploadId();
+                uploadSessionService.writeChunk("racer", uploadId, 0, 16, new ByteArrayInputStream(content));
+
+                // A retried chunk that has started writing but not finished.
+                CountDownLatch started = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+                InputStream slowBody = new SequenceInputStream(new ByteArrayInputStream(content, 0, 8),
+                                new InputStream() {
+                                        @Override
+                                        public int read() throws IOException {
+                                                started.countDown();
+                                                try {
+                                                        release.await();
+                                                } catch (InterruptedException e) {
+                                                        throw new IOException(e);
+                                                }
+                                                return -1;
+                                        }
+                                });
+                CompletableFuture<?> retry = CompletableFuture.runAsync(() -> {
+                        try {
+                                uploadSessionService.writeChunk("racer", uploadId, 0, 16, slowBody);
+                        } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                        }
+                });
+                assertTrue(started.await(10, TimeUnit.SECONDS));
+
+                assertThrows(BadRequestException.class, () -> uploadSessionService.completeSession("racer", uploadId));
+                release.countDown();
+                retry.get(10, TimeUnit.SECONDS);
+
+                assertEquals(DIGEST_OF_REPORT + ".pdf", uploadSessionService.completeSession("racer", uploadId));
+                assertThrows(ResourceNotFoundException.class, () -> uploadSessionService.writeChunk("racer", uploadId,
+                                0, 16, new ByteArrayInputStream(content)));
+        }
+
+        @Test
+        public void resumableUpload_ChunkPastDeclaredSize_ReturnsBadRequest() throws Exception {
+                UserDetailsImpl uploader = principal(1L, "uploader");
+                String body = mockMvc.perform(post("/files/uploads").with(user(uploader))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"fileName\":\"small.bin\",\"size\":4}"))
+                                .andExpect(status().isCreated())
+                                .andReturn().getResponse().getContentAsString();
+                String uploadId = objectMapper.readTree(body).get("uploadId").asText();
+
+                mockMvc.perform(put("/files/uploads/" + uploadId).param("offset", "2").with(user(uploader))
+                                .content(new byte[] { 1, 2, 3 }))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        public void resumableUpload_TooManyOpenSessions_ReturnsTooManyRequests() throws Exception {
+                UserDetailsImpl hoarder = principal(3L, "hoarder");
+                String uploadId = null;
+                for (int i = 0; i < 8; i++) {
+                        String body = mockMvc.perform(post("/files/uploads").with(user(hoarder))
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content("{\"fileName\":\"big.bin\",\"size\":1024}"))
+                                        .andExpect(status().isCreated())
+                                        .andReturn().getResponse().getContentAsString();
+                        uploadId = objectMapper.readTree(body).get("uploadId").asText();
+                }
+
+                mockMvc.perform(post("/files/uploads").with(user(hoarder))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"fileName\":\"big.bin\",\"size\":1024}"))
+                                .andExpect(status().isTooManyRequests());
+                mockMvc.perform(post("/files/uploads").with(user(principal(4L, "neighbour")))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"fileName\":\"big.bin\",\"size\":1024}"))
+                                .andExpect(status().isCreated());
+
+                mockMvc.perform(delete("/files/uploads/" + uploadId).with(user(hoarder)))
+                                .andExpect(status().isNoContent());
+                mockMvc.perform(post("/files/uploads").with(user(hoarder))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"fileName\":\"big.bin\",\"size\":1024}"))
+                                .andExpect(status().isCreated());
+        }
+
+        @Test
+        public void sweepIncoming_RemovesOnlyFilesPastTheSessionTtl() throws Exception {
+                Path abandoned = storageService.newIncomingFile();
+                Path active = storageService.newIncomingFile();
+                Files.setLastModifiedTime(abandoned, FileTime.from(Instant.now().minus(2, ChronoUnit.DAYS)));
+
+                sweeper.sweepIncoming();
+
+                assertFalse(Files.exists(abandoned));
+                assertTrue(Files.exists(active));
+        }
+
+        private static UserDetailsImpl principal(Long id, String username) {
+                return new UserDetailsImpl(id, username, "password",
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        }
+
+        private String upload(MockMultipartFile file) throws Exception {
+                String body = mockMvc.perform(multipart("/files/upload").file(file).with(user("uploader")))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsString();
+                JsonNode json = objectMapper.readTree(body);
+                return json.get("fileName").asText();
+        }
+
+        private long countBlobs() throws Exception {
+                try (Stream<Path> files = Files.walk(uploadDir.resolve("blobs"))) {
+                        return files.filter(Files::isRegularFile).count();
+                }
+        }
+
+        private void age(String fileName) throws Exception {
+                Files.setLastModifiedTime(storageService.resolve(fileName),
+                                FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS)));
+        }
+
+        private static ByteArrayInputStream stream(String content) {
+                return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        }
+}
@@ -0,0 +1,100 @@
+package com.example.taskmanagement;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class FileDownloadControllerTest {
+
+        private static final String FILE_NAME = "0b7f6c1e-download-test.txt";
+
+        private static final String CONTENT = "0123456789abcdefghij";
+
+        @TempDir
+        static Path uploadDir;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @DynamicPropertySource
+        static void uploadProperties(DynamicPropertyRegistry registry) {
+                registry.add("app.upload.dir", () -> uploadDir.toString());
+        }
+
+        @BeforeAll
+        static void writeFile() throws IOException {
+                Files.writeString(uploadDir.resolve(FILE_NAME), CONTENT, StandardCharsets.US_ASCII);
+        }
+
+        @Test
+        public void downloadFile_ServesWholeFileWithCacheHeaders() throws Exception {
+                mockMvc.perform(get("/uploads/" + FILE_NAME))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", "\"" + FILE_NAME + "-20\""))
+                                .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"))
+                                .andExpect(header().string("Accept-Ranges", "bytes"))
+                                .andExpect(header().longValue("Content-Length", 20))
+                                .andExpect(content().string(CONTENT));
+        }
+
+        @Test
+        public void downloadFile_MatchingETag_ReturnsNotModified() throws Exception {
+                mockMvc.perform(get("/uploads/" + FILE_NAME).header("If-None-Match", "\"" + FILE_NAME + "-20\""))
+                                .andExpect(status().isNotModified())
+                                .andExpect(content().bytes(new byte[0]));
+        }
+
+        @Test
+        public void downloadFile_Range_ReturnsPartialContent() throws Exception {
+                mockMvc.perform(get("/uploads/" + FILE_NAME).header("Range", "bytes=5-9"))
+                                .andExpect(status().isPartialContent())
+                                .andExpect(header().string("Content-Range", "bytes 5-9/20"))
+                                .andExpect(content().string("56789"));
+
+                mockMvc.perform(get("/uploads/" + FILE_NAME).header("Range", "bytes=-3"))
+                                .andExpect(status().isPartialContent())
+                                .andExpect(header().string("Content-Range", "bytes 17-19/20"))
+                                .andExpect(content().string("hij"));
+        }
+
+        @Test
+        public void downloadFile_StaleIfRange_ServesWholeFile() throws Exception {
+                mockMvc.perform(get("/uploads/" + FILE_NAME).header("Range", "bytes=5-9")
+                                .header("If-Range", "\"stale\""))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string(CONTENT));
+        }
+
+        @Test
+        public void downloadFile_UnsatisfiableRange_Returns416() throws Exception {
+                mockMvc.perform(get("/uploads/" + FILE_NAME).header("Range", "bytes=50-60"))
+                                .andExpect(status().isRequestedRangeNotSatisfiable())
+                                .andExpect(header().string("Content-Range", "bytes */20"));
+        }
+
+        @Test
+        public void downloadFile_MissingOrTraversal_Returns404() throws Exception {
+                mockMvc.perform(get("/uploads/missing.txt"))
+                                .andExpect(status().isNotFound());
+                mockMvc.perform(get("/uploads/..secret"))
+                                .andExpect(status().isNotFound());
+        }
+}
@@ -0,0 +1,101 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.payload.task.TaskRequest;
+import com.example.taskmanagement.payload.task.TaskResponse;
+import com.example.taskmanagement.service.TaskService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the application on a PostgreSQL that holds the schema and data of a release from
+ * before the migrations, so Flyway has to baseline it and bring it up to date, and Hibernate's
+ * validation has to accept the result.
+ */
+@SpringBootTest(properties = {
+                "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                "spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/{vendor}",
+                "spring.flyway.baseline-on-migrate=true",
+                "spring.flyway.baseline-version=1",
+                // The cache regions are shared by every context in the JVM; keep this database's rows out.
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+public class FlywayBaselineUpgradeTest {
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        public void testBaselinedDatabaseIsMigratedToTheCurrentSchema() {
+                List<String> applied = jdbcTemplate.queryForList(
+                                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank",
+                                String.class);
+                assertEquals(List.of("1", "1.1", "2", "3", "4", "5"), applied);
+                assertEquals(0L, jdbcTemplate.queryForObject(
+                                "SELECT security_version FROM users WHERE username = 'legacy'", Long.class));
+                assertEquals(3L, jdbcTemplate.queryForObject("SELECT SUM(task_count) FROM task_counters "
+                                + "WHERE dimension = 'status' AND bucket = 'PENDING'", Long.class));
+        }
+
+        @Test
+        public void testExistingTasksKeepWorkingAlongsideNewOnes() {
+                Long ownerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'legacy'", Long.class);
+                Long highestLegacyId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tasks", Long.class);
+
+                TaskRequest request = new TaskRequest();
+                request.setTitle("After the upgrade");
+                request.setDescription("New task");
+                TaskResponse created = taskService.createTask(ownerId, request);
+                assertTrue(created.getId() > highestLegacyId, "id " + created.getId() + " reuses a legacy id");
+
+                taskService.deleteTask(ownerId, highestLegacyId);
+                assertEquals(1, jdbcTemplate.queryForObject(
+                                "SELECT COUNT(*) FROM task_deletions WHERE task_id = ?", Integer.class, highestLegacyId));
+        }
+
+        @TestConfiguration
+        static class BaselinePostgresConfig {
+
+                @Bean(destroyMethod = "close")
+                public EmbeddedPostgres embeddedPostgres() throws IOException {
+                        return EmbeddedPostgres.start();
+                }
+
+                @Bean
+                public DataSource dataSource(EmbeddedPostgres postgres) {
+                        DataSource dataSource = DataSourceBuilder.create()
+                                        .url(postgres.getJdbcUrl("postgres", "postgres"))
+                                        .username("postgres")
+                                        .build();
+                        // In place before Flyway runs, as on a database being upgraded.
+                        new ResourceDatabasePopulator(new ClassPathResource("db/baseline-schema.sql")).execute(dataSource);
+                        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+                        jdbcTemplate.update("INSERT INTO users (username, email, password, role) "
+                                        + "VALUES ('legacy', 'legacy@example.com', 'secret', 'ROLE_USER')");
+                        jdbcTemplate.update("INSERT INTO tasks (title, description, status, priority, user_id, "
+                                        + "created_at, updated_at) SELECT 'Legacy ' || g, 'Before Flyway', 'PENDING', "
+                                        + "'MEDIUM', u.id, now(), now() FROM generate_series(1, 3) g, users u");
+                        jdbcTemplate.update("INSERT INTO task_attachments (task_id, file_url) "
+                                        + "SELECT MIN(id), 'legacy.pdf' FROM tasks");
+                        return dataSource;
+                }
+        }
+}
@@ -0,0 +1,60 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.security.JwtUtils;
+import com.example.taskmanagement.security.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class JwtUtilsTest {
+
+        private JwtUtils jwtUtils;
+
+        @BeforeEach
+        public void setUp() {
+                jwtUtils = new JwtUtils();
+                ReflectionTestUtils.setField(jwtUtils, "jwtSecret",
+                                "SecretKeyToGenJWTsWithAtLeast32CharactersLongToMakeItSecure");
+                ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60000);
+                ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", 100L);
+                ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        }
+
+        @Test
+        public void testParseAndValidateReturnsClaims() {
+                String token = jwtUtils.generateJwtToken(authentication());
+
+                Claims claims = jwtUtils.parseAndValidate(token);
+
+                assertEquals("testuser", claims.getSubject());
+                assertEquals(1L, claims.get(JwtUtils.CLAIM_USER_ID, Long.class));
+                assertEquals(List.of("ROLE_USER"), claims.get(JwtUtils.CLAIM_ROLES, List.class));
+                assertSame(claims, jwtUtils.parseAndValidate(token));
+        }
+
+        @Test
+        public void testTamperedTokenIsRejected() {
+                String token = jwtUtils.generateJwtToken(authentication());
+                String tampered = token.substring(0, token.length() - 2)
+                                + (token.endsWith("A") ? "BB" : "AA");
+
+                assertNull(jwtUtils.parseAndValidate(tampered));
+                assertNull(jwtUtils.parseAndValidate("not-a-token"));
+        }
+
+        private UsernamePasswordAuthenticationToken authentication() {
+                UserDetailsImpl principal = new UserDetailsImpl(1L, "testuser", "testuser@example.com", "password",
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")), 0L);
+                return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        }
+}
@@ -0,0 +1,90 @@
+package com.example.taskmanagement;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.taskmanagement.config.LogRateLimitFilter;
+import com.example.taskmanagement.config.RequestIdFilter;
+import com.example.taskmanagement.security.AuthEntryPointJwt;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.matchesRegex;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class LoggingTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        public void testRequestIdIsEchoedAndTagsLogLines() throws Exception {
+                Logger entryPointLogger = (Logger) LoggerFactory.getLogger(AuthEntryPointJwt.class);
+                ListAppender<ILoggingEvent> events = new ListAppender<>();
+                events.start();
+                entryPointLogger.addAppender(events);
+                try {
+                        mockMvc.perform(get("/tasks").header(RequestIdFilter.HEADER, "client-42"))
+                                        .andExpect(status().isUnauthorized())
+                                        .andExpect(header().string(RequestIdFilter.HEADER, "client-42"));
+                } finally {
+                        entryPointLogger.detachAppender(events);
+                }
+                assertEquals("client-42", events.list.get(0).getMDCPropertyMap().get(RequestIdFilter.MDC_KEY));
+
+                mockMvc.perform(get("/actuator/health").header(RequestIdFilter.HEADER, "not a valid id\r\n"))
+                                .andExpect(header().string(RequestIdFilter.HEADER, matchesRegex("[0-9a-f-]{36}")));
+        }
+
+        @Test
+        public void testRateLimitDropsRepeatsAndReportsThem() throws Exception {
+                LoggerContext context = new LoggerContext();
+                LogRateLimitFilter filter = new LogRateLimitFilter();
+                filter.setLoggerPrefix("com.example");
+                filter.setMaxPerInterval(3);
+                filter.setIntervalMillis(200);
+                filter.start();
+                context.addTurboFilter(filter);
+
+                ListAppender<ILoggingEvent> events = new ListAppender<>();
+                events.start();
+                context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(events);
+                Logger limited = context.getLogger("com.example.Hot");
+                Logger other = context.getLogger("org.example.Cold");
+
+                for (int i = 0; i < 10; i++) {
+                        limited.warn("Bad token from {}", i);
+                        other.warn("Bad token from {}", i);
+                }
+                limited.warn("Another message");
+                assertEquals(3, count(events.list, "com.example.Hot", "Bad token from {}"));
+                assertEquals(10, count(events.list, "org.example.Cold", "Bad token from {}"));
+                assertEquals(1, count(events.list, "com.example.Hot", "Another message"));
+
+                Thread.sleep(250);
+                events.list.clear();
+                limited.warn("Bad token from {}", 10);
+                assertEquals(2, events.list.size());
+                assertEquals("Suppressed 7 repetitions of \"Bad token from {}\" in the last 200 ms",
+                                events.list.get(0).getFormattedMessage());
+                assertEquals("Bad token from 10", events.list.get(1).getFormattedMessage());
+        }
+
+        private static long count(List<ILoggingEvent> events, String logger, String format) {
+                return events.stream()
+                                .filter(event -> event.getLoggerName().equals(logger) && event.getMessage().equals(format))
+                                .count();
+        }
+}
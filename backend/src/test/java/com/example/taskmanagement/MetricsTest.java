@@ -0,0 +1,101 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.UserDetailsImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesRegex;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+public class MetricsTest {
+
+        @TempDir
+        static Path uploadDir;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        private UserDetailsImpl principal;
+
+        @DynamicPropertySource
+        static void storageProperties(DynamicPropertyRegistry registry) {
+                registry.add("app.upload.dir", () -> uploadDir.toString());
+        }
+
+        @BeforeEach
+        public void setUp() {
+                taskRepository.deleteAll();
+                userRepository.deleteAll();
+                principal = UserDetailsImpl.build(userRepository.save(
+                                new User("metrics", "metrics@example.com", "secret", "ROLE_USER")));
+        }
+
+        @Test
+        public void testScrapeEndpointIsPublicAndCoversRequestsServicesPoolAndUploads() throws Exception {
+                mockMvc.perform(post("/tasks").with(user(principal))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"title\":\"Measured\",\"description\":\"Timed\"}"))
+                                .andExpect(status().isCreated());
+                mockMvc.perform(get("/tasks").with(user(principal)))
+                                .andExpect(status().isOk());
+
+                String session = mockMvc.perform(post("/files/uploads").with(user(principal))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"fileName\":\"notes.txt\",\"size\":5}"))
+                                .andExpect(status().isCreated())
+                                .andReturn().getResponse().getContentAsString();
+                String uploadId = objectMapper.readTree(session).get("uploadId").asText();
+                mockMvc.perform(put("/files/uploads/" + uploadId).param("offset", "0").with(user(principal))
+                                .content("hello".getBytes(StandardCharsets.UTF_8)))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get("/actuator/prometheus"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string(matchesRegex(
+                                                "(?s).*http_server_requests_seconds_bucket\\{[^}]*method=\"POST\""
+                                                                + "[^}]*uri=\"/tasks\"[^}]*le=\"[^\"]+\",?\\}.*")))
+                                .andExpect(content().string(matchesRegex(
+                                                "(?s).*task_service_seconds_count\\{[^}]*method=\"createTask\"[^}]*\\} 1\\.0.*")))
+                                .andExpect(content().string(matchesRegex(
+                                                "(?s).*http_server_sql_statements_count\\{method=\"GET\",uri=\"/tasks\",\\} 1\\.0.*")))
+                                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                                .andExpect(content().string(containsString(
+                                                "uploads_received_bytes_total{source=\"chunk\",} 5.0")))
+                                .andExpect(content().string(containsString(
+                                                "uploads_throughput_bytes_per_second_count{source=\"chunk\",} 1.0")));
+        }
+}
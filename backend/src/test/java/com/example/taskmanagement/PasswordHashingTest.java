@@ -0,0 +1,97 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.exception.ServiceUnavailableException;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.BoundedPasswordEncoder;
+import com.example.taskmanagement.security.PasswordHashingExecutor;
+import com.example.taskmanagement.security.UserDetailsImpl;
+import com.example.taskmanagement.security.UserDetailsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PasswordHashingTest {
+
+        private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, 7);
+
+        @AfterEach
+        public void tearDown() {
+                executor.shutdown();
+        }
+
+        @Test
+        public void testFullQueueIsRejectedWithRetryAfter() throws Exception {
+                CountDownLatch started = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+                CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+                        started.countDown();
+                        await(release);
+                        return "first";
+                }));
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> "second"));
+                while (executor.getQueueDepth() == 0) {
+                        Thread.onSpinWait();
+                }
+
+                ServiceUnavailableException rejected = assertThrows(ServiceUnavailableException.class,
+                                () -> executor.execute(() -> "third"));
+
+                assertEquals(7, rejected.getRetryAfterSeconds());
+                assertEquals(1, executor.getRejectedCount());
+                release.countDown();
+                assertEquals("first", running.get(5, TimeUnit.SECONDS));
+                assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+                assertTrue(executor.getEndpointStats().get("internal").startsWith("count=2"));
+        }
+
+        @Test
+        public void testLoginUpgradesWeakHashWithoutChangingSecurityVersion() {
+                User user = new User("testuser", "testuser@example.com",
+                                new BCryptPasswordEncoder(4).encode("password"), "ROLE_USER");
+                long securityVersion = user.getSecurityVersion();
+                UserRepository userRepository = mock(UserRepository.class);
+                when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+                when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+                UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl();
+                ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+
+                DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+                provider.setUserDetailsService(userDetailsService);
+                provider.setUserDetailsPasswordService(userDetailsService);
+                provider.setPasswordEncoder(new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), executor));
+
+                Authentication authentication = provider.authenticate(
+                                new UsernamePasswordAuthenticationToken("testuser", "password"));
+
+                assertTrue(user.getPassword().startsWith("$2a$05$"));
+                assertEquals(securityVersion, user.getSecurityVersion());
+                assertEquals(securityVersion,
+                                ((UserDetailsImpl) authentication.getPrincipal()).getSecurityVersion());
+        }
+
+        private static void await(CountDownLatch latch) {
+                try {
+                        latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                }
+        }
+}
@@ -0,0 +1,95 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.security.JwtUtils;
+import com.example.taskmanagement.security.PrincipalCache;
+import com.example.taskmanagement.security.UserDetailsImpl;
+import com.example.taskmanagement.security.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PrincipalCacheTest {
+
+        private UserDetailsServiceImpl userDetailsService;
+
+        private PrincipalCache principalCache;
+
+        @BeforeEach
+        public void setUp() {
+                userDetailsService = mock(UserDetailsServiceImpl.class);
+                principalCache = new PrincipalCache(100, 60);
+                ReflectionTestUtils.setField(principalCache, "userDetailsService", userDetailsService);
+
+                when(userDetailsService.loadUserByUsername("testuser")).thenReturn(
+                                new UserDetailsImpl(1L, "testuser", "testuser@example.com", "password",
+                                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")),
+                                                3L));
+        }
+
+        @Test
+        public void testWarmCacheSkipsUserLookup() {
+                UserDetailsImpl first = principalCache.resolve(claims(3L));
+                UserDetailsImpl second = principalCache.resolve(claims(3L));
+
+                assertEquals(1L, first.getId());
+                assertEquals(1L, second.getId());
+                assertEquals("ROLE_USER", second.getRole());
+                verify(userDetailsService, times(1)).loadUserByUsername("testuser");
+                assertEquals(1, principalCache.getHitCount());
+                assertEquals(1, principalCache.getMissCount());
+        }
+
+        @Test
+        public void testStaleSecurityVersionIsRejected() {
+                assertNull(principalCache.resolve(claims(2L)));
+                assertNull(principalCache.resolve(claims(2L)));
+        }
+
+        @Test
+        public void testEvictForcesReload() {
+                principalCache.resolve(claims(3L));
+                principalCache.evict(1L);
+                principalCache.resolve(claims(3L));
+
+                verify(userDetailsService, times(2)).loadUserByUsername("testuser");
+        }
+
+        @Test
+        public void testEvictInsideTransactionTakesEffectAfterCommit() {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                        principalCache.evict(1L);
+                        // A request racing the write still reads the old row and caches it.
+                        principalCache.resolve(claims(3L));
+                        TransactionSynchronizationUtils.triggerAfterCommit();
+                } finally {
+                        TransactionSynchronizationManager.clearSynchronization();
+                }
+                principalCache.resolve(claims(3L));
+
+                verify(userDetailsService, times(2)).loadUserByUsername("testuser");
+        }
+
+        private Claims claims(long securityVersion) {
+                Claims claims = Jwts.claims().setSubject("testuser");
+                claims.put(JwtUtils.CLAIM_USER_ID, 1L);
+                claims.put(JwtUtils.CLAIM_SECURITY_VERSION, securityVersion);
+                claims.put(JwtUtils.CLAIM_ROLES, List.of("ROLE_USER"));
+                return claims;
+        }
+}
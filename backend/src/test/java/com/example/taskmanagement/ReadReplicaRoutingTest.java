@@ -0,0 +1,211 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.config.ReplicaRoutingDataSource;
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.UserDetailsImpl;
+import com.example.taskmanagement.service.AttachmentSweeper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The replica is a second H2 database with the same schema but its own rows, so which one
+ * answered shows in the response. Its lag is whatever the replica_lag table says.
+ */
+@SpringBootTest(properties = {
+                "app.datasource.replicaUrls=" + ReadReplicaRoutingTest.REPLICA_URL,
+                "app.datasource.replicaLagQuery=SELECT lag_ms FROM replica_lag",
+                "app.datasource.replicaMaxLagMs=1000",
+                "app.datasource.replicaCheckIntervalMs=3600000",
+                // The cache regions are shared by every context in the JVM; keep the replica's rows out.
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureMockMvc
+public class ReadReplicaRoutingTest {
+
+        static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+        private static final long PRIMARY_TASK = 999999;
+
+        private static final long REPLICA_TASK = 500000;
+
+        private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ReplicaRoutingDataSource routing;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private AttachmentSweeper sweeper;
+
+        @BeforeAll
+        public static void createReplica() {
+                Flyway.configure()
+                                .dataSource(REPLICA_URL, "sa", "")
+                                .locations("classpath:db/migration/common")
+                                .load()
+                                .migrate();
+                replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_ms BIGINT)");
+        }
+
+        @BeforeEach
+        public void setUp() {
+                taskRepository.deleteAll();
+                userRepository.deleteAll();
+                replica.update("DELETE FROM tasks");
+                replica.update("DELETE FROM users");
+                replica.update("DELETE FROM replica_lag");
+                replica.update("INSERT INTO replica_lag VALUES (0)");
+                routing.checkReplicas();
+        }
+
+        @Test
+        public void testReadsGoToTheReplicaUntilTheUserWrites() throws Exception {
+                UserDetailsImpl writer = replicatedUser("replica-writer");
+                UserDetailsImpl reader = replicatedUser("replica-reader");
+                taskOnReplica(writer);
+
+                mockMvc.perform(get("/tasks/" + REPLICA_TASK).with(user(writer)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.title").value("On the replica"));
+
+                mockMvc.perform(post("/tasks").with(user(writer))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"title\":\"On the primary\",\"description\":\"Written\"}"))
+                                .andExpect(status().isCreated());
+
+                // The writer now reads from the primary, which lacks the task; others still use the replica.
+                mockMvc.perform(get("/tasks/" + REPLICA_TASK).with(user(writer)))
+                                .andExpect(status().isNotFound());
+                mockMvc.perform(get("/tasks/" + REPLICA_TASK).with(user(reader)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.title").value("On the replica"));
+        }
+
+        @Test
+        public void testReadsThatAreKeptOrActedOnUseThePrimary() throws Exception {
+                UserDetailsImpl reader = replicatedUser("cache-reader");
+                taskOnReplica(reader);
+                taskOnPrimary(reader);
+                jdbcTemplate.update("INSERT INTO task_attachments (task_id, file_url) VALUES (?, ?)", PRIMARY_TASK,
+                                "http://localhost/uploads/" + "a".repeat(64) + ".txt");
+
+                // The list and its ETag, delta sync and the sweeper's reference counts.
+                mockMvc.perform(get("/tasks").with(user(reader)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[*].title", contains("On the primary")));
+                mockMvc.perform(get("/tasks/changes").param("since", Long.toString(System.currentTimeMillis() - 60_000))
+                                .with(user(reader)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.changed[*].title", contains("On the primary")));
+                assertEquals(Map.of("a".repeat(64), 1), sweeper.referenceCounts());
+
+                // Other reads still go to the replica.
+                mockMvc.perform(get("/tasks/" + REPLICA_TASK).with(user(reader)))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        public void testLaggingOrUnreachableReplicaFallsBackToThePrimary() throws Exception {
+                UserDetailsImpl reader = replicatedUser("lag-reader");
+                taskOnPrimary(reader);
+
+                replica.update("UPDATE replica_lag SET lag_ms = 5000");
+                routing.checkReplicas();
+                assertEquals(5000, routing.getLagMillis("replica-0"));
+                mockMvc.perform(get("/tasks/" + PRIMARY_TASK).with(user(reader)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.title").value("On the primary"));
+
+                replica.execute("DROP TABLE replica_lag");
+                try {
+                        routing.checkReplicas();
+                        assertEquals(-1, routing.getLagMillis("replica-0"));
+                        mockMvc.perform(get("/tasks/" + PRIMARY_TASK).with(user(reader)))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.title").value("On the primary"));
+                } finally {
+                        replica.execute("CREATE TABLE replica_lag (lag_ms BIGINT)");
+                }
+        }
+
+        @Test
+        public void testReplicaNotMeasuredRecentlyGetsNoReads() throws Exception {
+                // Never started, so nothing measures the lag after the first check below.
+                ReplicaRoutingDataSource stalled = new ReplicaRoutingDataSource(
+                                new DriverManagerDataSource("jdbc:h2:mem:testdb", "sa", ""),
+                                Map.of("replica-0", replica.getDataSource()), "SELECT lag_ms FROM replica_lag", 1000,
+                                Duration.ofSeconds(5), Duration.ofMillis(100));
+                stalled.afterPropertiesSet();
+
+                stalled.checkReplicas();
+                assertEquals("jdbc:h2:mem:replica", readOnlyConnectionUrl(stalled));
+                Thread.sleep(400);
+                assertEquals(-1, stalled.getLagMillis("replica-0"));
+                assertEquals("jdbc:h2:mem:testdb", readOnlyConnectionUrl(stalled));
+        }
+
+        private String readOnlyConnectionUrl(ReplicaRoutingDataSource routing) throws Exception {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+                try (Connection connection = routing.getConnection()) {
+                        return connection.getMetaData().getURL();
+                } finally {
+                        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+                }
+        }
+
+        private UserDetailsImpl replicatedUser(String username) {
+                User user = userRepository.save(new User(username, username + "@example.com", "secret", "ROLE_USER"));
+                replica.update("INSERT INTO users (id, username, email, password, role) VALUES (?, ?, ?, ?, ?)",
+                                user.getId(), user.getUsername(), user.getEmail(), user.getPassword(), user.getRole());
+                return UserDetailsImpl.build(user);
+        }
+
+        private void taskOnPrimary(UserDetailsImpl owner) {
+                // Written outside any request, so nobody is pinned to the primary by it.
+                jdbcTemplate.update("INSERT INTO tasks (id, title, description, status, priority, user_id, "
+                                + "created_at, updated_at) VALUES (?, 'On the primary', 'Original', 'PENDING', "
+                                + "'MEDIUM', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", PRIMARY_TASK, owner.getId());
+        }
+
+        private void taskOnReplica(UserDetailsImpl owner) {
+                replica.update("INSERT INTO tasks (id, title, description, status, priority, user_id, created_at, "
+                                + "updated_at) VALUES (?, 'On the replica', 'Copy', 'PENDING', 'MEDIUM', ?, "
+                                + "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", REPLICA_TASK, owner.getId());
+        }
+}
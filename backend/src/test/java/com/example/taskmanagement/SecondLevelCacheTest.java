@@ -0,0 +1,78 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.payload.task.TaskRequest;
+import com.example.taskmanagement.payload.task.TaskResponse;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskService;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class SecondLevelCacheTest {
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @BeforeEach
+        public void setUp() {
+                taskRepository.deleteAll();
+                userRepository.deleteAll();
+        }
+
+        @Test
+        public void testRepeatedUserAndTaskReadsHitTheCache() {
+                Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                User owner = userRepository.save(new User("owner", "owner@example.com", "secret", "ROLE_USER"));
+                TaskRequest request = new TaskRequest();
+                request.setTitle("Cached");
+                request.setDescription("Description");
+                TaskResponse created = taskService.createTask(owner.getId(), request);
+                userRepository.findById(owner.getId());
+
+                statistics.clear();
+                assertEquals("owner", userRepository.findById(owner.getId()).orElseThrow().getUsername());
+                assertEquals("Cached", taskRepository.findById(created.getId()).orElseThrow().getTitle());
+
+                assertTrue(statistics.getSecondLevelCacheHitCount() >= 2,
+                                "hits: " + statistics.getSecondLevelCacheHitCount());
+        }
+
+        @Test
+        public void testRegionsAreBoundedInSizeAndAge() {
+                // Regions come from application.conf.
+                RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                                .getServiceRegistry().requireService(RegionFactory.class);
+                CacheManager cacheManager = ((JCacheRegionFactory) regionFactory).getCacheManager();
+                CaffeineConfiguration<?, ?> users = cacheManager.getCache("users")
+                                .getConfiguration(CaffeineConfiguration.class);
+                assertEquals(OptionalLong.of(10000), users.getMaximumSize());
+                assertTrue(users.getExpireAfterWrite().isPresent());
+        }
+}
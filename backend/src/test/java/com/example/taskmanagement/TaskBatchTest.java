@@ -0,0 +1,66 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.payload.task.TaskBatchResult;
+import com.example.taskmanagement.payload.task.TaskRequest;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+public class TaskBatchTest {
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        private User owner;
+
+        @BeforeEach
+        public void setUp() {
+                taskRepository.deleteAll();
+                userRepository.deleteAll();
+                owner = userRepository.save(new User("batcher", "batcher@example.com", "secret", "ROLE_USER"));
+        }
+
+        @Test
+        public void testBatchCreateReportsItemFailuresAndKeepsTheRest() {
+                User assignee = userRepository.save(new User("assignee", "assignee@example.com", "secret",
+                                "ROLE_USER"));
+
+                List<TaskRequest> requests = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                        TaskRequest request = new TaskRequest();
+                        request.setTitle("Bulk task " + i);
+                        request.setDescription("Description");
+                        request.setAssignedUserId(assignee.getId());
+                        request.setAttachments(List.of("file-" + i));
+                        requests.add(request);
+                }
+                requests.get(5).setTitle("");
+                requests.get(7).setAssignedUserId(-1L);
+
+                List<TaskBatchResult> results = taskService.createTasks(owner.getId(), requests);
+
+                assertEquals(10, results.size());
+                assertEquals(400, results.get(5).getStatus());
+                assertEquals(404, results.get(7).getStatus());
+                assertEquals(201, results.get(8).getStatus());
+                assertEquals(8, results.stream().filter(result -> result.getStatus() == 201).count());
+                assertEquals(8, taskRepository.count());
+        }
+}
@@ -0,0 +1,104 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskPriority;
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.payload.task.TaskChanges;
+import com.example.taskmanagement.payload.task.TaskRequest;
+import com.example.taskmanagement.payload.task.TaskResponse;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class TaskChangesTest {
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        private User owner;
+
+        private Object safetyWindow;
+
+        @BeforeEach
+        public void setUp() {
+                taskRepository.deleteAll();
+                userRepository.deleteAll();
+                owner = userRepository.save(new User("syncer", "syncer@example.com", "secret", "ROLE_USER"));
+                // Watermarks at the current time, so the test does not have to wait out the window.
+                Object target = AopTestUtils.getTargetObject(taskService);
+                safetyWindow = ReflectionTestUtils.getField(target, "changesSafetyWindowMs");
+                ReflectionTestUtils.setField(target, "changesSafetyWindowMs", 0L);
+        }
+
+        @AfterEach
+        public void restoreSafetyWindow() {
+                Object target = AopTestUtils.getTargetObject(taskService);
+                ReflectionTestUtils.setField(target, "changesSafetyWindowMs", safetyWindow);
+        }
+
+        @Test
+        public void testChangesReturnsOnlyChurnSinceWatermark() throws Exception {
+                List<Long> ids = createTasks(3);
+
+                Thread.sleep(5);
+                TaskChanges initial = taskService.getChanges(owner.getId(), null, 10);
+                assertTrue(initial.isResync());
+                Thread.sleep(5);
+
+                TaskRequest request = new TaskRequest();
+                request.setTitle("Changed");
+                request.setDescription("Description");
+                taskService.updateTask(owner.getId(), ids.get(0), request);
+                taskService.deleteTask(owner.getId(), ids.get(1));
+                TaskResponse created = taskService.createTask(owner.getId(), request);
+
+                TaskChanges changes = taskService.getChanges(owner.getId(), initial.getWatermark(), 10);
+
+                assertFalse(changes.isResync());
+                assertEquals(List.of(ids.get(0), created.getId()),
+                                changes.getChanged().stream().map(TaskResponse::getId).toList());
+                assertEquals(List.of(ids.get(1)), changes.getDeleted());
+        }
+
+        @Test
+        public void testMoreChangesThanTheLimitAskForResync() throws Exception {
+                Thread.sleep(5);
+                long since = taskService.getChanges(owner.getId(), null, 10).getWatermark();
+                Thread.sleep(5);
+                createTasks(2);
+
+                assertFalse(taskService.getChanges(owner.getId(), since, 2).isResync());
+                assertTrue(taskService.getChanges(owner.getId(), since, 1).isResync());
+        }
+
+        private List<Long> createTasks(int count) {
+                List<Task> tasks = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                        tasks.add(new Task("Task " + i, "Description", owner, LocalDateTime.now().plusDays(1),
+                                        TaskPriority.MEDIUM));
+                }
+                return taskRepository.saveAll(tasks).stream().map(Task::getId).sorted().toList();
+        }
+}
@@ -1,5 +1,10 @@
 package com.example.taskmanagement;
 
+import com.example.taskmanagement.controller.TaskController;
+import com.example.taskmanagement.entity.TaskStatus;
+import com.example.taskmanagement.payload.task.TaskBatchResult;
+import com.example.taskmanagement.payload.task.TaskFilter;
+import com.example.taskmanagement.payload.task.TaskPage;
 import com.example.taskmanagement.payload.task.TaskRequest;
 import com.example.taskmanagement.payload.task.TaskResponse;
 import com.example.taskmanagement.security.JwtUtils;
@@ -14,13 +19,36 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -67,15 +95,127 @@ public class TaskControllerTest {
         public void testGetAllTasks() throws Exception {
                 TaskResponse response = new TaskResponse(1L, "Task 1", "Desc", null, null, null, null, null, null, null,
                                 null);
-                when(taskService.getAllTasks(any(Long.class))).thenReturn(Collections.singletonList(response));
+                when(taskService.getAllTasks(any(Long.class), any(TaskFilter.class), isNull(), eq(50), any()))
+                                .thenReturn(new TaskPage(Collections.singletonList(response), null, "1"));
+
+                UserDetailsImpl userDetails = new UserDetailsImpl(1L, "testuser", "password",
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+
+                mockMvc.perform(get("/tasks")
+                                .with(user(userDetails)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].title").value("Task 1"))
+                                .andExpect(header().doesNotExist(TaskController.NEXT_CURSOR_HEADER));
+        }
+
+        @Test
+        public void testGetAllTasksWithCursorAndFilters() throws Exception {
+                TaskResponse response = new TaskResponse(2L, "Task 2", "Desc", TaskStatus.IN_PROGRESS, null, null, null,
+                                null, null, null, null);
+                when(taskService.getAllTasks(any(Long.class), any(TaskFilter.class), eq("abc"), eq(10), any()))
+                                .thenReturn(new TaskPage(Collections.singletonList(response), "next", "1"));
 
                 UserDetailsImpl userDetails = new UserDetailsImpl(1L, "testuser", "password",
                                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
 
                 mockMvc.perform(get("/tasks")
+                                .param("cursor", "abc")
+                                .param("size", "10")
+                                .param("status", "IN_PROGRESS")
+                                .with(user(userDetails)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].id").value(2))
+                                .andExpect(header().string(TaskController.NEXT_CURSOR_HEADER, "next"));
+
+                verify(taskService).getAllTasks(eq(1L),
+                                argThat(filter -> filter.getStatus() == TaskStatus.IN_PROGRESS), eq("abc"), eq(10), any());
+        }
+
+        @Test
+        public void testExportTasksAsNdjson() throws Exception {
+                TaskResponse response = new TaskResponse(1L, "Task 1", "Desc", null, null, null, null, null, null, null,
+                                null);
+                doAnswer(invocation -> {
+                        Consumer<TaskResponse> sink = invocation.getArgument(1);
+                        sink.accept(response);
+                        sink.accept(response);
+                        return null;
+                }).when(taskService).exportTasks(any(TaskFilter.class), any());
+
+                UserDetailsImpl userDetails = new UserDetailsImpl(1L, "testuser", "password",
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+
+                MvcResult result = mockMvc.perform(get("/tasks/export")
                                 .with(user(userDetails)))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                String body = mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                                .andReturn().getResponse().getContentAsString();
+
+                String[] lines = body.split("\n");
+                assertEquals(2, lines.length);
+                assertEquals("Task 1", objectMapper.readTree(lines[0]).get("title").asText());
+        }
+
+        @Test
+        public void testExportTasksAsGzippedCsv() throws Exception {
+                TaskResponse response = new TaskResponse(1L, "Title, with comma", "Desc", null, null, null, null,
+                                null, null, null, null);
+                doAnswer(invocation -> {
+                        Consumer<TaskResponse> sink = invocation.getArgument(1);
+                        sink.accept(response);
+                        return null;
+                }).when(taskService).exportTasks(any(TaskFilter.class), any());
+
+                UserDetailsImpl userDetails = new UserDetailsImpl(1L, "testuser", "password",
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+
+                MvcResult result = mockMvc.perform(get("/tasks/export")
+                                .param("format", "csv")
+                                .header("Accept-Encoding", "gzip")
+                                .with(user(userDetails)))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                byte[] body = mockMvc.perform(asyncDispatch(result))
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$[0].title").value("Task 1"));
+                                .andExpect(header().string("Content-Encoding", "gzip"))
+                                .andReturn().getResponse().getContentAsByteArray();
+
+                String csv = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(),
+                                StandardCharsets.UTF_8);
+                assertTrue(csv.startsWith("id,title,"));
+                assertTrue(csv.contains("1,\"Title, with comma\",Desc,"));
+        }
+
+        @Test
+        public void testExportHonoursAcceptEncodingQualities() throws Exception {
+                UserDetailsImpl userDetails = new UserDetailsImpl(1L, "testuser", "password",
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+                Map<String, Boolean> gzipped = new LinkedHashMap<>();
+                gzipped.put("gzip;q=0", false);
+                gzipped.put("deflate, gzip ; q=0.0", false);
+                gzipped.put("x-gzip", true);
+                gzipped.put("br;q=1.0, GZIP;q=0.5", true);
+                gzipped.put("*;q=0.1", true);
+                gzipped.put("*, gzip;q=0", false);
+                gzipped.put("identity", false);
+                gzipped.put("notgzip", false);
+
+                for (Map.Entry<String, Boolean> acceptEncoding : gzipped.entrySet()) {
+                        MvcResult result = mockMvc.perform(get("/tasks/export")
+                                        .header("Accept-Encoding", acceptEncoding.getKey())
+                                        .with(user(userDetails)))
+                                        .andReturn();
+                        String contentEncoding = mockMvc.perform(asyncDispatch(result))
+                                        .andExpect(status().isOk())
+                                        .andReturn().getResponse().getHeader("Content-Encoding");
+                        assertEquals(acceptEncoding.getValue() ? "gzip" : null, contentEncoding,
+                                        acceptEncoding.getKey());
+                }
         }
 
         @Test
@@ -93,6 +233,82 @@ public class TaskControllerTest {
                                 .andExpect(jsonPath("$.title").value("Task 1"));
         }
 
+        @Test
+        public void testGetTaskByIdWithMatchingETagSkipsLoading() throws Exception {
+                when(taskService.getTaskUpdatedAt(1L, 1L)).thenReturn(LocalDateTime.of(2024, 1, 1, 0, 0));
+                when(taskService.getTaskById(1L, 1L)).thenReturn(new TaskResponse(1L, "Task 1", "Desc", null, null,
+                                LocalDateTime.of(2024, 1, 1, 0, 0), null, null, null, null, null));
+
+                UserDetailsImpl userDetails = new UserDetailsImpl(1L, "testuser", "password",
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+
+                String etag = mockMvc.perform(get("/tasks/1")
+                                .with(user(userDetails)))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                                .andReturn().getResponse().getHeader("ETag");
+                assertEquals("W/\"1-1704067200000000000\"", etag);
+
+                mockMvc.perform(get("/tasks/1")
+                                .header("If-None-Match", etag)
+                                .with(user(userDetails)))
+                                .andExpect(status().isNotModified());
+
+                verify(taskService, times(1)).getTaskById(1L, 1L);
+        }
+
+        @Test
+        public void testGetTaskByIdTagsTheVersionItReturns() throws Exception {
+                // The timestamp check and the load were answered by databases at different points.
+                when(taskService.getTaskUpdatedAt(1L, 1L)).thenReturn(LocalDateTime.of(2024, 1, 2, 0, 0));
+                when(taskService.getTaskById(1L, 1L)).thenReturn(new TaskResponse(1L, "Task 1", "Desc", null, null,
+                                LocalDateTime.of(2024, 1, 1, 0, 0), null, null, null, null, null));
+
+                UserDetailsImpl userDetails = new UserDetailsImpl(1L, "testuser", "password",
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+
+                mockMvc.perform(get("/tasks/1")
+                                .with(user(userDetails)))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", "W/\"1-1704067200000000000\""));
+        }
+
+        @Test
+        public void testGetAllTasksWithMatchingETagSkipsQuery() throws Exception {
+                Iterator<String> versions = List.of("1", "1", "2").iterator();
+                AtomicInteger loaded = new AtomicInteger();
+                when(taskService.getAllTasks(any(Long.class), any(TaskFilter.class), isNull(), eq(50), any()))
+                                .thenAnswer(invocation -> {
+                                        String version = versions.next();
+                                        Predicate<String> unchanged = invocation.getArgument(4);
+                                        if (unchanged.test(version)) {
+                                                return TaskPage.unchanged(version);
+                                        }
+                                        loaded.incrementAndGet();
+                                        return new TaskPage(Collections.emptyList(), null, version);
+                                });
+
+                UserDetailsImpl userDetails = new UserDetailsImpl(1L, "testuser", "password",
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+
+                String etag = mockMvc.perform(get("/tasks")
+                                .with(user(userDetails)))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getHeader("ETag");
+
+                mockMvc.perform(get("/tasks")
+                                .header("If-None-Match", etag)
+                                .with(user(userDetails)))
+                                .andExpect(status().isNotModified());
+                assertEquals(1, loaded.get());
+
+                mockMvc.perform(get("/tasks")
+                                .header("If-None-Match", etag)
+                                .with(user(userDetails)))
+                                .andExpect(status().isOk());
+                assertEquals(2, loaded.get());
+        }
+
         @Test
         public void testUpdateTask() throws Exception {
                 TaskRequest request = new TaskRequest();
@@ -116,6 +332,31 @@ public class TaskControllerTest {
                                 .andExpect(jsonPath("$.title").value("Updated Task"));
         }
 
+        @Test
+        public void testCreateTasksBatch() throws Exception {
+                TaskRequest request = new TaskRequest();
+                request.setTitle("Bulk Task");
+                request.setDescription("Description");
+
+                TaskResponse response = new TaskResponse(1L, "Bulk Task", "Description", null, null, null, null, null,
+                                null, null, null);
+                when(taskService.createTasks(eq(1L), any()))
+                                .thenReturn(List.of(TaskBatchResult.success(0, 201, response),
+                                                TaskBatchResult.failure(1, 400, null, "title: Title is required")));
+
+                UserDetailsImpl userDetails = new UserDetailsImpl(1L, "testuser", "password",
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+
+                mockMvc.perform(post("/tasks/batch")
+                                .with(user(userDetails))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(request, new TaskRequest()))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].status").value(201))
+                                .andExpect(jsonPath("$[0].task.title").value("Bulk Task"))
+                                .andExpect(jsonPath("$[1].status").value(400));
+        }
+
         @Test
         public void testDeleteTask() throws Exception {
                 UserDetailsImpl userDetails = new UserDetailsImpl(1L, "testuser", "password",
@@ -0,0 +1,129 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.payload.task.TaskRequest;
+import com.example.taskmanagement.payload.task.TaskResponse;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.UserDetailsImpl;
+import com.example.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Collections;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = "app.events.maxPending=2")
+@AutoConfigureMockMvc
+public class TaskEventStreamTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        private User owner;
+
+        @BeforeEach
+        public void setUp() {
+                taskRepository.deleteAll();
+                userRepository.deleteAll();
+                owner = userRepository.save(new User("streamer", "streamer@example.com", "secret", "ROLE_USER"));
+        }
+
+        @Test
+        public void testStreamPushesCommittedChanges() throws Exception {
+                MockHttpServletResponse stream = openStream(null);
+
+                TaskResponse created = taskService.createTask(owner.getId(), taskRequest("Pushed"));
+
+                String body = awaitContent(stream, "event:created");
+                assertTrue(body.contains("\"taskId\":" + created.getId()), body);
+                assertTrue(body.contains("\"title\":\"Pushed\""), body);
+        }
+
+        @Test
+        public void testReconnectReplaysMissedEventsOrAsksForResync() throws Exception {
+                MockHttpServletResponse first = openStream(null);
+                TaskResponse kept = taskService.createTask(owner.getId(), taskRequest("Kept"));
+                Matcher id = Pattern.compile("id:(\\S+)\\n").matcher(awaitContent(first, "event:created"));
+                assertTrue(id.find());
+
+                TaskResponse second = taskService.createTask(owner.getId(), taskRequest("Second"));
+                taskService.deleteTask(owner.getId(), kept.getId());
+
+                String replayed = awaitContent(openStream(id.group(1)), "event:deleted");
+                assertTrue(replayed.contains("\"taskId\":" + second.getId()), replayed);
+                assertFalse(replayed.contains("\"title\":\"Kept\""), replayed);
+
+                String stale = awaitContent(openStream("0.1"), "event:resync");
+                assertFalse(stale.contains("event:created"), stale);
+        }
+
+        @Test
+        public void testReconnectBehindMoreThanMaxPendingTasksAsksForResync() throws Exception {
+                MockHttpServletResponse first = openStream(null);
+                taskService.createTask(owner.getId(), taskRequest("Seen"));
+                Matcher id = Pattern.compile("id:(\\S+)\\n").matcher(awaitContent(first, "event:created"));
+                assertTrue(id.find());
+
+                for (int i = 0; i < 3; i++) {
+                        taskService.createTask(owner.getId(), taskRequest("Missed " + i));
+                }
+
+                // Replaying three tasks would overflow a queue of two and drop the client again.
+                String body = awaitContent(openStream(id.group(1)), "event:resync");
+                assertFalse(body.contains("Missed"), body);
+        }
+
+        private MockHttpServletResponse openStream(String lastEventId) throws Exception {
+                UserDetailsImpl userDetails = new UserDetailsImpl(owner.getId(), "streamer", "secret",
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+                MockHttpServletRequestBuilder builder = get("/tasks/stream").with(user(userDetails));
+                if (lastEventId != null) {
+                        builder.header("Last-Event-ID", lastEventId);
+                }
+                return mockMvc.perform(builder)
+                                .andExpect(request().asyncStarted())
+                                .andReturn().getResponse();
+        }
+
+        private String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+                long deadline = System.currentTimeMillis() + 5000;
+                String body = response.getContentAsString();
+                while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(20);
+                        body = response.getContentAsString();
+                }
+                assertTrue(body.contains(expected), body);
+                return body;
+        }
+
+        private TaskRequest taskRequest(String title) {
+                TaskRequest request = new TaskRequest();
+                request.setTitle(title);
+                request.setDescription("Description");
+                return request;
+        }
+}
@@ -0,0 +1,73 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskPriority;
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.payload.task.TaskFilter;
+import com.example.taskmanagement.payload.task.TaskResponse;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+public class TaskExportTest {
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        private User owner;
+
+        @BeforeEach
+        public void setUp() {
+                taskRepository.deleteAll();
+                userRepository.deleteAll();
+                owner = userRepository.save(new User("exporter", "exporter@example.com", "secret", "ROLE_USER"));
+        }
+
+        @Test
+        public void testExportStreamsEveryTaskAcrossChunks() {
+                List<Task> tasks = new ArrayList<>();
+                for (int i = 0; i < 7; i++) {
+                        Task task = new Task("Task " + i, "Description", owner, LocalDateTime.now().plusDays(1),
+                                        TaskPriority.MEDIUM);
+                        task.setAttachments(List.of("file-" + i + "-a", "file-" + i + "-b"));
+                        tasks.add(task);
+                }
+                taskRepository.saveAll(tasks);
+                Object target = AopTestUtils.getTargetObject(taskService);
+                Object fetchSize = ReflectionTestUtils.getField(target, "exportFetchSize");
+
+                List<TaskResponse> exported = new ArrayList<>();
+                try {
+                        ReflectionTestUtils.setField(target, "exportFetchSize", 3);
+                        taskService.exportTasks(new TaskFilter(), exported::add);
+                } finally {
+                        ReflectionTestUtils.setField(target, "exportFetchSize", fetchSize);
+                }
+
+                assertEquals(tasks.stream().map(Task::getId).sorted().toList(),
+                                exported.stream().map(TaskResponse::getId).sorted().toList());
+                for (TaskResponse task : exported) {
+                        String index = task.getTitle().substring("Task ".length());
+                        assertEquals(List.of("file-" + index + "-a", "file-" + index + "-b"), task.getAttachments());
+                }
+        }
+}
@@ -0,0 +1,187 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.config.SqlStatementMetrics;
+import com.example.taskmanagement.entity.TaskStatus;
+import com.example.taskmanagement.payload.task.TaskCursor;
+import com.example.taskmanagement.payload.task.TaskFilter;
+import com.example.taskmanagement.repository.TaskRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the migrations against a real PostgreSQL, fills it with enough rows for the planner to
+ * care, and checks the plans of the SQL Hibernate actually issues for the list queries.
+ * Plans are generic (parameters unbound), i.e. what a prepared statement would reuse. The
+ * database stops with the cached context when the test JVM exits.
+ */
+@SpringBootTest(properties = {
+                "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                "spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/{vendor}",
+                // The cache regions are shared by every context in the JVM; keep this database's rows out.
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+public class TaskIndexUsageTest {
+
+        private static final int TASKS = 50_000;
+
+        private static final int USERS = 100;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        // Hibernate's statement inspector; spied on to capture the SQL it sees.
+        @SpyBean
+        private SqlStatementMetrics statements;
+
+        @Autowired
+        private EmbeddedPostgres postgres;
+
+        private long firstUserId;
+
+        @BeforeEach
+        public void setUp() {
+                if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Long.class) == 0) {
+                        jdbcTemplate.update("INSERT INTO users (username, email, password, role) "
+                                        + "SELECT 'user-' || g, 'user-' || g || '@example.com', 'secret', 'ROLE_USER' "
+                                        + "FROM generate_series(1, ?) g", USERS);
+                        jdbcTemplate.update("INSERT INTO tasks (id, title, description, status, priority, user_id, "
+                                        + "assigned_user_id, created_at, updated_at, due_date) "
+                                        + "SELECT g, 'Task ' || g, 'Description ' || g, "
+                                        + "(ARRAY['PENDING', 'IN_PROGRESS', 'COMPLETED'])[1 + g % 3], "
+                                        + "(ARRAY['LOW', 'MEDIUM', 'HIGH'])[1 + (g / 3) % 3], "
+                                        + "u.first + g % ?, u.first + (g / 7) % ?, "
+                                        + "now() - g * interval '1 minute', now() - g * interval '1 minute', "
+                                        + "now() + (g % 365) * interval '1 day' "
+                                        + "FROM generate_series(1, ?) g, (SELECT MIN(id) AS first FROM users) u",
+                                        USERS, USERS, TASKS);
+                        jdbcTemplate.update("INSERT INTO task_attachments (task_id, file_url) "
+                                        + "SELECT id, 'file-' || id FROM tasks WHERE id % 2 = 0");
+                        jdbcTemplate.execute("ANALYZE");
+                }
+                firstUserId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        }
+
+        @Test
+        public void testMigrationsAlignTaskSequence() {
+                List<String> applied = jdbcTemplate.queryForList(
+                                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank",
+                                String.class);
+                assertEquals(List.of("1", "1.1", "2", "3", "4", "5"), applied);
+        }
+
+        @Test
+        public void testFilteredListSeeksOnAssigneeStatusIndex() throws SQLException {
+                TaskFilter filter = new TaskFilter();
+                filter.setAssignedUserId(firstUserId + 7);
+                filter.setStatus(TaskStatus.PENDING);
+                String plan = explain(() -> taskRepository.findPage(filter, null, 21));
+                assertIndexUsed(plan, "idx_tasks_assigned_status_updated_at_id");
+
+                filter.setDueFrom(LocalDateTime.now());
+                filter.setDueTo(LocalDateTime.now().plusDays(30));
+                plan = explain(() -> taskRepository.findPage(filter, null, 21));
+                assertIndexUsed(plan, "idx_tasks_assigned_status_updated_at_id");
+        }
+
+        @Test
+        public void testUnfilteredPagesAndChangesSeekOnUpdatedAtIndex() throws SQLException {
+                TaskCursor cursor = new TaskCursor(LocalDateTime.now().minusDays(10), 14_400L);
+                assertIndexUsed(explain(() -> taskRepository.findPage(new TaskFilter(), cursor, 21)),
+                                "idx_tasks_updated_at_id");
+                LocalDateTime since = LocalDateTime.now().minusHours(1);
+                assertIndexUsed(explain(() -> taskRepository.findChangedAfter(since, null, 501)),
+                                "idx_tasks_updated_at_id");
+        }
+
+        @Test
+        public void testOwnerAndAttachmentLookupsUseForeignKeyIndexes() throws SQLException {
+                assertIndexUsed(explain(() -> taskRepository.findByUserId(firstUserId)),
+                                "idx_tasks_user_updated_at_id");
+                assertIndexUsed(explain(() -> taskRepository.findAttachmentsByTaskIds(List.of(2L, 4L, 6L, 8L))),
+                                "idx_task_attachments_task_id");
+        }
+
+        /**
+         * Runs the query, then returns the generic plan of the last statement it issued.
+         */
+        private String explain(Runnable query) throws SQLException {
+                clearInvocations(statements);
+                query.run();
+                ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+                verify(statements, atLeastOnce()).inspect(captor.capture());
+                String sql = captor.getValue();
+                StringBuilder positional = new StringBuilder();
+                int parameter = 0;
+                for (char c : sql.toCharArray()) {
+                        if (c == '?') {
+                                positional.append('$').append(++parameter);
+                        } else {
+                                positional.append(c);
+                        }
+                }
+                // The simple protocol sends $n through as-is; the extended one would expect values for them.
+                String url = postgres.getJdbcUrl("postgres", "postgres") + "&preferQueryMode=simple";
+                try (Connection connection = DriverManager.getConnection(url);
+                                Statement statement = connection.createStatement();
+                                ResultSet rows = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + positional)) {
+                        StringBuilder plan = new StringBuilder();
+                        while (rows.next()) {
+                                plan.append(rows.getString(1)).append('\n');
+                        }
+                        return plan.toString();
+                }
+        }
+
+        private static void assertIndexUsed(String plan, String index) {
+                assertTrue(plan.contains(" using " + index + " ") || plan.contains(" on " + index + "\n")
+                                || plan.contains(" on " + index + " "), plan);
+                assertFalse(plan.contains("Seq Scan on task"), plan);
+        }
+
+        @TestConfiguration
+        static class PostgresConfig {
+
+                @Bean(destroyMethod = "close")
+                public EmbeddedPostgres embeddedPostgres() throws IOException {
+                        return EmbeddedPostgres.start();
+                }
+
+                @Bean
+                public DataSource dataSource(EmbeddedPostgres postgres) {
+                        return DataSourceBuilder.create()
+                                        .url(postgres.getJdbcUrl("postgres", "postgres"))
+                                        .username("postgres")
+                                        .build();
+                }
+        }
+}
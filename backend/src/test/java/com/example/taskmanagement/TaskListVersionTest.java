@@ -0,0 +1,87 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.payload.task.TaskFilter;
+import com.example.taskmanagement.payload.task.TaskPage;
+import com.example.taskmanagement.payload.task.TaskRequest;
+import com.example.taskmanagement.payload.task.TaskResponse;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The collection version behind the task list's ETag.
+ */
+@SpringBootTest
+public class TaskListVersionTest {
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        private User owner;
+
+        @BeforeEach
+        public void setUp() {
+                taskRepository.deleteAll();
+                userRepository.deleteAll();
+                owner = userRepository.save(new User("versioned", "versioned@example.com", "secret", "ROLE_USER"));
+        }
+
+        @Test
+        public void testVersionMovesOnlyAfterCommittedWrites() {
+                String initial = listVersion();
+                TaskRequest request = new TaskRequest();
+                request.setTitle("Versioned");
+                request.setDescription("Description");
+
+                TaskResponse created = taskService.createTask(owner.getId(), request);
+                String afterCreate = listVersion();
+                taskService.getAllTasks(owner.getId(), new TaskFilter(), null, 10, version -> false);
+                assertEquals(afterCreate, listVersion());
+                taskService.updateTask(owner.getId(), created.getId(), request);
+                String afterUpdate = listVersion();
+                taskService.deleteTask(owner.getId(), created.getId());
+
+                assertNotEquals(initial, afterCreate);
+                assertNotEquals(afterCreate, afterUpdate);
+                assertNotEquals(afterUpdate, listVersion());
+        }
+
+        @Test
+        public void testUnchangedListIsNotLoaded() {
+                TaskRequest request = new TaskRequest();
+                request.setTitle("Listed");
+                request.setDescription("Description");
+                taskService.createTask(owner.getId(), request);
+                String version = listVersion();
+
+                TaskPage unchanged = taskService.getAllTasks(owner.getId(), new TaskFilter(), null, 10, version::equals);
+                assertNull(unchanged.getItems());
+                assertEquals(version, unchanged.getVersion());
+
+                taskService.createTask(owner.getId(), request);
+                TaskPage changed = taskService.getAllTasks(owner.getId(), new TaskFilter(), null, 10, version::equals);
+                assertNotNull(changed.getItems());
+                assertEquals(2, changed.getItems().size());
+                assertNotEquals(version, changed.getVersion());
+        }
+
+        private String listVersion() {
+                return taskService.getAllTasks(owner.getId(), new TaskFilter(), null, 1, version -> true).getVersion();
+        }
+}
@@ -0,0 +1,220 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.entity.Task;
+import com.example.taskmanagement.entity.TaskPriority;
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.payload.task.TaskChanges;
+import com.example.taskmanagement.payload.task.TaskFilter;
+import com.example.taskmanagement.payload.task.TaskPage;
+import com.example.taskmanagement.payload.task.TaskRequest;
+import com.example.taskmanagement.payload.task.TaskResponse;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SQL statements issued per operation. What the operations return is tested in each feature's
+ * own class.
+ */
+@SpringBootTest
+public class TaskQueryCountTest {
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private User owner;
+
+        @BeforeEach
+        public void setUp() {
+                taskRepository.deleteAll();
+                userRepository.deleteAll();
+                owner = userRepository.save(new User("owner", "owner@example.com", "secret", "ROLE_USER"));
+        }
+
+        @Test
+        public void testListingIssuesConstantNumberOfStatements() {
+                Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+                createTasks(0, 3);
+                statistics.clear();
+                TaskPage smallPage = taskService.getAllTasks(owner.getId(), new TaskFilter(), null, 3, version -> false);
+                long smallPageStatements = statistics.getPrepareStatementCount();
+
+                assertEquals(3, smallPage.getItems().size());
+                assertEquals("assignee-0", smallPage.getItems().get(0).getAssignedUsername());
+                assertEquals(List.of("file-0-a", "file-0-b"), smallPage.getItems().get(0).getAttachments());
+
+                createTasks(3, 20);
+                statistics.clear();
+                TaskPage largePage = taskService.getAllTasks(owner.getId(), new TaskFilter(), null, 23, version -> false);
+                long largePageStatements = statistics.getPrepareStatementCount();
+
+                assertEquals(23, largePage.getItems().size());
+                assertEquals(3, smallPageStatements);
+                assertEquals(smallPageStatements, largePageStatements);
+        }
+
+        @Test
+        public void testUnchangedListCostsOneStatement() {
+                createTasks(0, 3);
+                String current = taskService.getAllTasks(owner.getId(), new TaskFilter(), null, 1, version -> true)
+                                .getVersion();
+                Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                statistics.clear();
+
+                taskService.getAllTasks(owner.getId(), new TaskFilter(), null, 10, current::equals);
+
+                // Only the version is read.
+                assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        @Test
+        public void testChangesIssueThreeStatements() throws Exception {
+                Object target = AopTestUtils.getTargetObject(taskService);
+                Object safetyWindow = ReflectionTestUtils.getField(target, "changesSafetyWindowMs");
+                try {
+                        ReflectionTestUtils.setField(target, "changesSafetyWindowMs", 0L);
+                        createTasks(0, 3);
+                        List<Long> ids = taskRepository.findAll().stream().map(Task::getId).sorted().toList();
+
+                        Thread.sleep(5);
+                        TaskChanges initial = taskService.getChanges(owner.getId(), null, 10);
+                        Thread.sleep(5);
+
+                        TaskRequest request = new TaskRequest();
+                        request.setTitle("Changed");
+                        request.setDescription("Description");
+                        taskService.updateTask(owner.getId(), ids.get(0), request);
+                        taskService.deleteTask(owner.getId(), ids.get(1));
+                        taskService.createTask(owner.getId(), request);
+
+                        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                        statistics.clear();
+                        TaskChanges changes = taskService.getChanges(owner.getId(), initial.getWatermark(), 10);
+
+                        assertEquals(2, changes.getChanged().size());
+                        // Changed tasks, tombstones and one attachment query for the changed tasks.
+                        assertEquals(3, statistics.getPrepareStatementCount());
+                } finally {
+                        ReflectionTestUtils.setField(target, "changesSafetyWindowMs", safetyWindow);
+                }
+        }
+
+        @Test
+        public void testSecondLevelCacheLeavesOnlyWritesToTheDatabase() {
+                Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                User assignee = userRepository.save(new User("cached", "cached@example.com", "secret", "ROLE_USER"));
+                TaskRequest request = new TaskRequest();
+                request.setTitle("Cached");
+                request.setDescription("Description");
+                request.setAssignedUserId(assignee.getId());
+                TaskResponse created = taskService.createTask(owner.getId(), request);
+                userRepository.findAll();
+                userRepository.findByUsername("cached");
+
+                statistics.clear();
+                userRepository.findAll();
+                userRepository.findByUsername("cached");
+                long userStatements = statistics.getPrepareStatementCount();
+
+                statistics.clear();
+                taskService.createTask(owner.getId(), request);
+                long createStatements = statistics.getPrepareStatementCount();
+
+                statistics.clear();
+                taskService.updateTask(owner.getId(), created.getId(), request);
+                long updateStatements = statistics.getPrepareStatementCount();
+
+                assertEquals(0, userStatements);
+                // Owner, assignee and task lookups are cache hits; only the writes reach the database:
+                // the task, its status, priority and assignee counters, the write count behind the
+                // list version (plus a sequence call every 50 ids).
+                assertTrue(createStatements <= 6, "statements: " + createStatements);
+                // An update reads its task with a row lock, which the cache cannot serve, and moves
+                // only the write count.
+                assertEquals(4, updateStatements);
+        }
+
+        @Test
+        public void testExportIssuesOneAttachmentQueryPerChunk() {
+                Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                createTasks(0, 7);
+                Object target = AopTestUtils.getTargetObject(taskService);
+                Object fetchSize = ReflectionTestUtils.getField(target, "exportFetchSize");
+
+                try {
+                        ReflectionTestUtils.setField(target, "exportFetchSize", 3);
+                        statistics.clear();
+                        taskService.exportTasks(new TaskFilter(), task -> { });
+                } finally {
+                        ReflectionTestUtils.setField(target, "exportFetchSize", fetchSize);
+                }
+
+                // One streaming query plus one attachment query for each of the three chunks.
+                assertEquals(4, statistics.getPrepareStatementCount());
+        }
+
+        @Test
+        public void testBatchCreateBatchesInserts() {
+                Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                User assignee = userRepository.save(new User("assignee", "assignee@example.com", "secret",
+                                "ROLE_USER"));
+
+                List<TaskRequest> requests = new ArrayList<>();
+                for (int i = 0; i < 120; i++) {
+                        TaskRequest request = new TaskRequest();
+                        request.setTitle("Bulk task " + i);
+                        request.setDescription("Description");
+                        request.setAssignedUserId(assignee.getId());
+                        request.setAttachments(List.of("file-" + i));
+                        requests.add(request);
+                }
+
+                statistics.clear();
+                taskService.createTasks(owner.getId(), requests);
+
+                assertEquals(120, taskRepository.count());
+                // One user lookup, a few sequence calls and a handful of batched inserts, not 2 per task.
+                assertTrue(statistics.getPrepareStatementCount() < 15,
+                                "statements: " + statistics.getPrepareStatementCount());
+        }
+
+        private void createTasks(int first, int count) {
+                List<Task> tasks = new ArrayList<>();
+                for (int i = first; i < first + count; i++) {
+                        User assignee = userRepository.save(new User("assignee-" + i, "assignee-" + i + "@example.com",
+                                        "secret", "ROLE_USER"));
+                        Task task = new Task("Task " + i, "Description", owner, LocalDateTime.now().plusDays(1),
+                                        TaskPriority.MEDIUM);
+                        task.setAssignedUser(assignee);
+                        task.setAttachments(List.of("file-" + i + "-a", "file-" + i + "-b"));
+                        tasks.add(task);
+                }
+                taskRepository.saveAll(tasks);
+        }
+}
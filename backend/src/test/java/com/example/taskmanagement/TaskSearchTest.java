@@ -0,0 +1,260 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.entity.TaskStatus;
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.payload.task.TaskFilter;
+import com.example.taskmanagement.payload.task.TaskRequest;
+import com.example.taskmanagement.payload.task.TaskResponse;
+import com.example.taskmanagement.payload.task.TaskSearchHit;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.UserDetailsImpl;
+import com.example.taskmanagement.service.TaskSearchIndex;
+import com.example.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.mockito.AdditionalAnswers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TaskSearchTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private TaskSearchIndex searchIndex;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private User owner;
+
+        @AfterEach
+        public void restoreIndexTaskService() {
+                Object index = AopTestUtils.getTargetObject(searchIndex);
+                ReflectionTestUtils.setField(index, "taskService", taskService);
+                ReflectionTestUtils.setField(index, "catchUpPageSize", 1000);
+        }
+
+        @BeforeEach
+        public void setUp() {
+                taskRepository.deleteAll();
+                userRepository.deleteAll();
+                searchIndex.rebuild();
+                owner = userRepository.save(new User("searcher", "searcher@example.com", "secret", "ROLE_USER"));
+        }
+
+        @Test
+        public void testSearchRanksTitleMatchesFirstAndHighlightsTerms() throws Exception {
+                TaskResponse inDescription = create("Quarterly report", "Collect the invoices <b>before</b> Friday");
+                TaskResponse inTitle = create("Invoices overdue", "Chase the customers");
+                create("Team lunch", "Book a table");
+
+                UserDetailsImpl principal = new UserDetailsImpl(owner.getId(), "searcher", "secret",
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+                mockMvc.perform(get("/tasks/search").param("q", "invoices").with(user(principal)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$", hasSize(2)))
+                                .andExpect(jsonPath("$[0].task.id").value(inTitle.getId()))
+                                .andExpect(jsonPath("$[0].titleHighlight").value("<mark>Invoices</mark> overdue"))
+                                .andExpect(jsonPath("$[1].task.id").value(inDescription.getId()))
+                                .andExpect(jsonPath("$[1].titleHighlight").doesNotExist())
+                                .andExpect(jsonPath("$[1].descriptionHighlight").value(
+                                                "Collect the <mark>invoices</mark> &lt;b&gt;before&lt;&#x2F;b&gt; Friday"));
+
+                mockMvc.perform(get("/tasks/search").param("q", " ").with(user(principal)))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        public void testIndexFollowsWritesFiltersAndSurvivesRebuild() {
+                TaskResponse pending = create("Deploy release", "Roll out the backend");
+                TaskResponse done = create("Deploy hotfix", "Patch the backend");
+                TaskRequest update = new TaskRequest();
+                update.setTitle("Deploy hotfix");
+                update.setDescription("Patch the backend");
+                update.setStatus(TaskStatus.COMPLETED.name());
+                taskService.updateTask(owner.getId(), done.getId(), update);
+
+                TaskFilter completed = new TaskFilter();
+                completed.setStatus(TaskStatus.COMPLETED);
+                assertEquals(List.of(done.getId()), search("deploy", completed));
+                assertEquals(List.of(pending.getId()), search("deploy -hotfix", new TaskFilter()));
+                assertEquals(List.of(pending.getId()), search("roll*", new TaskFilter()));
+
+                taskService.deleteTask(owner.getId(), pending.getId());
+                assertEquals(List.of(done.getId()), search("deploy", new TaskFilter()));
+
+                searchIndex.rebuild();
+                assertEquals(List.of(done.getId()), search("deploy", new TaskFilter()));
+        }
+
+        @Test
+        public void testDueToIsExclusiveAsInTheTaskList() {
+                LocalDateTime due = LocalDateTime.of(2030, 1, 15, 10, 0);
+                TaskRequest request = new TaskRequest();
+                request.setTitle("Renew certificate");
+                request.setDescription("Before it expires");
+                request.setDueDate(due);
+                TaskResponse task = taskService.createTask(owner.getId(), request);
+
+                TaskFilter untilDue = new TaskFilter();
+                untilDue.setDueTo(due);
+                assertEquals(List.of(), search("certificate", untilDue));
+                untilDue.setDueTo(due.plusNanos(1_000_000));
+                assertEquals(List.of(task.getId()), search("certificate", untilDue));
+                TaskFilter fromDue = new TaskFilter();
+                fromDue.setDueFrom(due);
+                assertEquals(List.of(task.getId()), search("certificate", fromDue));
+        }
+
+        @Test
+        public void testCatchUpAppliesWritesFromOtherInstances() {
+                TaskResponse removed = create("Migrate database", "Removed elsewhere");
+                // Written by another instance: no events reach this one's index.
+                jdbcTemplate.update("INSERT INTO tasks (id, title, description, status, priority, user_id, "
+                                + "created_at, updated_at) VALUES (999997, 'Migrate storage', 'Added elsewhere', "
+                                + "'PENDING', 'LOW', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", owner.getId());
+                jdbcTemplate.update("DELETE FROM tasks WHERE id = ?", removed.getId());
+                jdbcTemplate.update("INSERT INTO task_deletions (id, task_id, deleted_at) "
+                                + "VALUES (999997, ?, CURRENT_TIMESTAMP)", removed.getId());
+                assertEquals(List.of(), search("storage", new TaskFilter()));
+
+                searchIndex.catchUp();
+                assertEquals(List.of(999997L), search("migrate", new TaskFilter()));
+                assertEquals(1, searchIndex.getDocumentCount());
+        }
+
+        @Test
+        public void testCatchUpPagesThroughLargeWindowsWithoutRebuilding() {
+                List<TaskResponse> removed = List.of(create("Archive logs", "One"), create("Archive mail", "Two"),
+                                create("Archive photos", "Three"));
+                TaskService indexTaskService = indexTaskService();
+                Object index = AopTestUtils.getTargetObject(searchIndex);
+                ReflectionTestUtils.setField(index, "catchUpPageSize", 2);
+                for (int i = 0; i < 5; i++) {
+                        jdbcTemplate.update("INSERT INTO tasks (id, title, description, status, priority, user_id, "
+                                        + "created_at, updated_at) VALUES (?, 'Archive backups', 'Added elsewhere', "
+                                        + "'PENDING', 'LOW', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                                        999990L + i, owner.getId());
+                }
+                for (int i = 0; i < removed.size(); i++) {
+                        jdbcTemplate.update("DELETE FROM tasks WHERE id = ?", removed.get(i).getId());
+                        jdbcTemplate.update("INSERT INTO task_deletions (id, task_id, deleted_at) "
+                                        + "VALUES (?, ?, CURRENT_TIMESTAMP)", 999990L + i, removed.get(i).getId());
+                }
+
+                searchIndex.catchUp();
+
+                assertEquals(List.of(999990L, 999991L, 999992L, 999993L, 999994L),
+                                search("archive", new TaskFilter()).stream().sorted().toList());
+                verify(indexTaskService, never()).exportTasks(any(), any());
+        }
+
+        @Test
+        public void testSearchesDuringRebuildSeeTheWholeIndex() {
+                TaskResponse existing = create("Deploy release", "Roll out the backend");
+                TaskService indexTaskService = indexTaskService();
+                List<Long> duringRebuild = new ArrayList<>();
+                doAnswer(invocation -> {
+                        // A write committed while the rebuild runs, then a search.
+                        create("Deploy frontend", "Ship the bundle");
+                        duringRebuild.addAll(search("deploy", new TaskFilter()));
+                        taskService.exportTasks(invocation.getArgument(0), invocation.getArgument(1));
+                        return null;
+                }).when(indexTaskService).exportTasks(any(), any());
+
+                searchIndex.rebuild();
+
+                assertTrue(duringRebuild.contains(existing.getId()), "searched " + duringRebuild);
+                assertEquals(2, duringRebuild.size());
+                assertEquals(2, search("deploy", new TaskFilter()).size());
+        }
+
+        @Test
+        public void testRebuildOnDiskSwapsDirectoriesAndReopensTheLatest(@TempDir Path dir) throws IOException {
+                create("Deploy release", "Roll out the backend");
+                Files.writeString(dir.resolve("segments_1"), "Left by an earlier layout");
+
+                TaskSearchIndex onDisk = new TaskSearchIndex(dir.toString());
+                ReflectionTestUtils.setField(onDisk, "taskService", taskService);
+                try {
+                        onDisk.rebuild();
+                        onDisk.rebuild();
+                } finally {
+                        onDisk.close();
+                }
+                try (Stream<Path> children = Files.list(dir)) {
+                        assertEquals(List.of("2"), children.map(child -> child.getFileName().toString()).toList());
+                }
+
+                TaskSearchIndex reopened = new TaskSearchIndex(dir.toString());
+                try {
+                        assertEquals(1, reopened.getDocumentCount());
+                } finally {
+                        reopened.close();
+                }
+        }
+
+        // Stands in for the service the index reads from, passing every call on.
+        private TaskService indexTaskService() {
+                TaskService delegating = mock(TaskService.class, AdditionalAnswers.delegatesTo(taskService));
+                Object index = AopTestUtils.getTargetObject(searchIndex);
+                ReflectionTestUtils.setField(index, "taskService", delegating);
+                return delegating;
+        }
+
+        private List<Long> search(String query, TaskFilter filter) {
+                return taskService.searchTasks(owner.getId(), query, filter, 10).stream()
+                                .map(TaskSearchHit::getTask).map(TaskResponse::getId).toList();
+        }
+
+        private TaskResponse create(String title, String description) {
+                TaskRequest request = new TaskRequest();
+                request.setTitle(title);
+                request.setDescription(description);
+                return taskService.createTask(owner.getId(), request);
+        }
+}
@@ -0,0 +1,181 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.entity.TaskStatus;
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.payload.task.TaskBatchUpdateRequest;
+import com.example.taskmanagement.payload.task.TaskRequest;
+import com.example.taskmanagement.payload.task.TaskResponse;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.UserDetailsImpl;
+import com.example.taskmanagement.service.TaskCounters;
+import com.example.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TaskStatsTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private TaskCounters counters;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private User owner;
+
+        @BeforeEach
+        public void setUp() {
+                taskRepository.deleteAll();
+                userRepository.deleteAll();
+                // Other tests write tasks behind the service's back; start from exact counters.
+                counters.reconcile();
+                owner = userRepository.save(new User("counter", "counter@example.com", "secret", "ROLE_USER"));
+        }
+
+        @Test
+        public void testStatsFollowSingleAndBatchWrites() throws Exception {
+                LocalDateTime yesterday = LocalDate.now().minusDays(1).atTime(9, 0);
+                TaskResponse late = taskService.createTask(owner.getId(),
+                                request("Late report", "HIGH", owner.getId(), yesterday));
+                TaskResponse doomed = taskService.createTask(owner.getId(),
+                                request("Doomed task", "LOW", null, yesterday));
+                taskService.createTasks(owner.getId(), List.of(
+                                request("Batch one", "HIGH", null, yesterday.plusDays(2)),
+                                request("Batch two", "MEDIUM", owner.getId(), null)));
+
+                TaskRequest done = request("Late report", "HIGH", owner.getId(), yesterday);
+                done.setStatus(TaskStatus.COMPLETED.name());
+                taskService.updateTask(owner.getId(), late.getId(), done);
+                TaskBatchUpdateRequest started = new TaskBatchUpdateRequest();
+                started.setId(doomed.getId());
+                started.setTitle("Doomed task");
+                started.setDescription("Work");
+                started.setStatus(TaskStatus.IN_PROGRESS.name());
+                started.setPriority("MEDIUM");
+                started.setDueDate(yesterday);
+                taskService.updateTasks(owner.getId(), List.of(started));
+
+                mockMvc.perform(get("/tasks/stats").with(user(UserDetailsImpl.build(owner))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.total").value(4))
+                                .andExpect(jsonPath("$.byStatus.PENDING").value(2))
+                                .andExpect(jsonPath("$.byStatus.IN_PROGRESS").value(1))
+                                .andExpect(jsonPath("$.byStatus.COMPLETED").value(1))
+                                .andExpect(jsonPath("$.byPriority.HIGH").value(2))
+                                .andExpect(jsonPath("$.byPriority.MEDIUM").value(2))
+                                .andExpect(jsonPath("$.byPriority.LOW").value(0))
+                                .andExpect(jsonPath("$.byAssignee['" + owner.getId() + "']").value(2))
+                                .andExpect(jsonPath("$.unassigned").value(2))
+                                // The completed task no longer counts; the one due tomorrow not yet.
+                                .andExpect(jsonPath("$.overdue").value(1));
+
+                taskService.deleteTask(owner.getId(), late.getId());
+                taskService.deleteTasks(owner.getId(), List.of(doomed.getId()));
+
+                mockMvc.perform(get("/tasks/stats").with(user(UserDetailsImpl.build(owner))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.total").value(2))
+                                .andExpect(jsonPath("$.byStatus.PENDING").value(2))
+                                .andExpect(jsonPath("$.byStatus.COMPLETED").value(0))
+                                .andExpect(jsonPath("$.overdue").value(0));
+                assertEquals(0, counters.reconcile());
+        }
+
+        @Test
+        public void testConcurrentUpdatesOfOneTaskKeepCountersExact() throws Exception {
+                TaskResponse task = taskService.createTask(owner.getId(), request("Contended", "LOW", null, null));
+                String[] statuses = { TaskStatus.IN_PROGRESS.name(), TaskStatus.COMPLETED.name() };
+                String[] priorities = { "MEDIUM", "HIGH" };
+                int rounds = 20;
+                CyclicBarrier barrier = new CyclicBarrier(statuses.length);
+                ExecutorService writers = Executors.newFixedThreadPool(statuses.length);
+                try {
+                        List<Future<?>> results = new ArrayList<>();
+                        for (int w = 0; w < statuses.length; w++) {
+                                TaskRequest update = request("Contended", priorities[w], owner.getId(), null);
+                                update.setStatus(statuses[w]);
+                                results.add(writers.submit(() -> {
+                                        for (int i = 0; i < rounds; i++) {
+                                                barrier.await();
+                                                taskService.updateTask(owner.getId(), task.getId(), update);
+                                        }
+                                        return null;
+                                }));
+                        }
+                        for (Future<?> result : results) {
+                                result.get();
+                        }
+                } finally {
+                        writers.shutdownNow();
+                }
+
+                // Every update subtracted what the previous one added, so nothing needs repair.
+                assertEquals(0, counters.reconcile());
+        }
+
+        @Test
+        public void testReconcileRepairsDrift() throws Exception {
+                taskService.createTask(owner.getId(), request("Counted task", "LOW", null, null));
+                jdbcTemplate.update("UPDATE task_counters SET task_count = task_count + 5 WHERE dimension = 'status'");
+                jdbcTemplate.update("INSERT INTO tasks (id, title, description, status, priority, user_id, "
+                                + "created_at, updated_at) VALUES (999998, 'Uncounted', 'Behind the service', "
+                                + "'COMPLETED', 'HIGH', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", owner.getId());
+
+                // PENDING and COMPLETED status, HIGH priority and the unassigned bucket are off.
+                assertEquals(4, counters.reconcile());
+                assertEquals(0, counters.reconcile());
+
+                mockMvc.perform(get("/tasks/stats").with(user(UserDetailsImpl.build(owner))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.total").value(2))
+                                .andExpect(jsonPath("$.byStatus.PENDING").value(1))
+                                .andExpect(jsonPath("$.byStatus.COMPLETED").value(1))
+                                .andExpect(jsonPath("$.byPriority.HIGH").value(1))
+                                .andExpect(jsonPath("$.byPriority.LOW").value(1))
+                                .andExpect(jsonPath("$.unassigned").value(2));
+        }
+
+        private TaskRequest request(String title, String priority, Long assignedUserId, LocalDateTime dueDate) {
+                TaskRequest request = new TaskRequest();
+                request.setTitle(title);
+                request.setDescription("Work");
+                request.setPriority(priority);
+                request.setAssignedUserId(assignedUserId);
+                request.setDueDate(dueDate);
+                return request;
+        }
+}
@@ -0,0 +1,215 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.JwtUtils;
+import com.example.taskmanagement.security.TokenRevocationList;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TokenRefreshTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private PasswordEncoder passwordEncoder;
+
+        @Autowired
+        private TokenRevocationList revocationList;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @BeforeEach
+        public void setUp() {
+                taskRepository.deleteAll();
+                userRepository.deleteAll();
+                userRepository.save(new User("refresher", "refresher@example.com",
+                                passwordEncoder.encode("password"), "ROLE_USER"));
+        }
+
+        @Test
+        public void testRefreshRotatesTokensAndRejectsReuse() throws Exception {
+                JsonNode login = login();
+                String refreshToken = login.get("refreshToken").asText();
+
+                JsonNode refreshed = refresh(refreshToken);
+                mockMvc.perform(get("/tasks").header("Authorization", "Bearer " + refreshed.get("accessToken").asText()))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(post("/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                                .content(refreshBody(refreshToken)))
+                                .andExpect(status().isUnauthorized());
+                refresh(refreshed.get("refreshToken").asText());
+        }
+
+        @Test
+        public void testRefreshTokenIsNotAnAccessTokenAndViceVersa() throws Exception {
+                JsonNode login = login();
+
+                mockMvc.perform(get("/tasks").header("Authorization", "Bearer " + login.get("refreshToken").asText()))
+                                .andExpect(status().isUnauthorized());
+                mockMvc.perform(post("/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                                .content(refreshBody(login.get("accessToken").asText())))
+                                .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        public void testLogoutRevokesBothTokens() throws Exception {
+                JsonNode login = login();
+                String bearer = "Bearer " + login.get("accessToken").asText();
+                String refreshToken = login.get("refreshToken").asText();
+
+                mockMvc.perform(get("/tasks").header("Authorization", bearer))
+                                .andExpect(status().isOk());
+                mockMvc.perform(post("/auth/logout").header("Authorization", bearer)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(refreshBody(refreshToken)))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get("/tasks").header("Authorization", bearer))
+                                .andExpect(status().isUnauthorized());
+                mockMvc.perform(post("/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                                .content(refreshBody(refreshToken)))
+                                .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        public void testRenameRevokesTokensIssuedUnderTheOldName() throws Exception {
+                String bearer = "Bearer " + login().get("accessToken").asText();
+                mockMvc.perform(get("/tasks").header("Authorization", bearer))
+                                .andExpect(status().isOk());
+
+                User user = userRepository.findByUsername("refresher").orElseThrow();
+                user.setUsername("renamed");
+                userRepository.save(user);
+
+                mockMvc.perform(get("/tasks").header("Authorization", bearer))
+                                .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        public void testRevocationRecordedByAnotherInstanceIsPickedUp() throws Exception {
+                String accessToken = login().get("accessToken").asText();
+                mockMvc.perform(get("/tasks").header("Authorization", "Bearer " + accessToken))
+                                .andExpect(status().isOk());
+
+                // As another instance's logout leaves it.
+                insertRevocation(jti(accessToken));
+                revocationList.refresh();
+
+                mockMvc.perform(get("/tasks").header("Authorization", "Bearer " + accessToken))
+                                .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        public void testRefreshTokenConsumedByAnotherInstanceIsRejected() throws Exception {
+                String refreshToken = login().get("refreshToken").asText();
+                insertRevocation(jti(refreshToken));
+
+                mockMvc.perform(post("/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                                .content(refreshBody(refreshToken)))
+                                .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        public void testTokensWithoutJtiAreRejected() throws Exception {
+                User user = userRepository.findByUsername("refresher").orElseThrow();
+                String accessToken = signWithoutJti(user, JwtUtils.TOKEN_TYPE_ACCESS);
+                String refreshToken = signWithoutJti(user, JwtUtils.TOKEN_TYPE_REFRESH);
+
+                mockMvc.perform(get("/tasks").header("Authorization", "Bearer " + accessToken))
+                                .andExpect(status().isUnauthorized());
+                mockMvc.perform(post("/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                                .content(refreshBody(refreshToken)))
+                                .andExpect(status().isUnauthorized());
+        }
+
+        private String signWithoutJti(User user, String tokenType) {
+                Date now = new Date();
+                return Jwts.builder()
+                                .setSubject(user.getUsername())
+                                .claim(JwtUtils.CLAIM_TOKEN_TYPE, tokenType)
+                                .claim(JwtUtils.CLAIM_USER_ID, user.getId())
+                                .claim(JwtUtils.CLAIM_SECURITY_VERSION, user.getSecurityVersion())
+                                .claim(JwtUtils.CLAIM_ROLES, List.of("ROLE_USER"))
+                                .setIssuedAt(now)
+                                .setExpiration(new Date(now.getTime() + 60_000))
+                                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(
+                                                "SecretKeyToGenJWTsWithAtLeast32CharactersLongToMakeItSecure")),
+                                                SignatureAlgorithm.HS256)
+                                .compact();
+        }
+
+        private void insertRevocation(String jti) {
+                LocalDateTime now = LocalDateTime.now();
+                jdbcTemplate.update("INSERT INTO revoked_tokens (jti, expires_at, revoked_at) VALUES (?, ?, ?)",
+                                jti, Timestamp.valueOf(now.plusHours(1)), Timestamp.valueOf(now));
+        }
+
+        private String jti(String token) throws Exception {
+                byte[] payload = Base64.getUrlDecoder().decode(token.split("\\.")[1]);
+                return objectMapper.readTree(new String(payload, StandardCharsets.UTF_8)).get("jti").asText();
+        }
+
+        private JsonNode login() throws Exception {
+                String body = mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"username\":\"refresher\",\"password\":\"password\"}"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.expiresIn").value(900))
+                                .andReturn().getResponse().getContentAsString();
+                return objectMapper.readTree(body);
+        }
+
+        private JsonNode refresh(String refreshToken) throws Exception {
+                String body = mockMvc.perform(post("/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                                .content(refreshBody(refreshToken)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.username").value("refresher"))
+                                .andReturn().getResponse().getContentAsString();
+                return objectMapper.readTree(body);
+        }
+
+        private String refreshBody(String refreshToken) throws Exception {
+                return objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken));
+        }
+}
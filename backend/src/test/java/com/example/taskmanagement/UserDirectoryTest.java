@@ -0,0 +1,91 @@
+package com.example.taskmanagement;
+
+import com.example.taskmanagement.entity.User;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.UserDetailsImpl;
+import com.example.taskmanagement.service.UserDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class UserDirectoryTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private UserDirectory userDirectory;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        private UserDetailsImpl principal;
+
+        @BeforeEach
+        public void setUp() {
+                taskRepository.deleteAll();
+                userRepository.deleteAll();
+                userRepository.save(new User("alice", "alice@example.com", "secret", "ROLE_USER"));
+                userRepository.save(new User("Albert", "albert@example.com", "secret", "ROLE_USER"));
+                userRepository.save(new User("bob", "alfred@example.org", "secret", "ROLE_USER"));
+                userRepository.save(new User("carol", "carol@example.com", "secret", "ROLE_USER"));
+                principal = new UserDetailsImpl(1L, "alice", "secret",
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        }
+
+        @Test
+        public void testSearchMatchesUsernamePrefixThenEmailPrefix() throws Exception {
+                mockMvc.perform(get("/users/search").param("q", "AL").with(user(principal)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$", hasSize(3)))
+                                .andExpect(jsonPath("$[0].username").value("Albert"))
+                                .andExpect(jsonPath("$[1].username").value("alice"))
+                                .andExpect(jsonPath("$[2].username").value("bob"))
+                                .andExpect(jsonPath("$[0].password").doesNotExist())
+                                .andExpect(jsonPath("$[0].email").doesNotExist());
+
+                mockMvc.perform(get("/users/search").param("q", "").param("limit", "2").with(user(principal)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$", hasSize(2)))
+                                .andExpect(jsonPath("$[0].username").value("Albert"));
+        }
+
+        @Test
+        public void testDirectoryFollowsRenamesDeletionsAndRebuilds() {
+                User carol = userRepository.findByUsername("carol").orElseThrow();
+                carol.setUsername("caroline");
+                userRepository.save(carol);
+                assertEquals(List.of("caroline"), usernames("car"));
+
+                userRepository.delete(userRepository.findByUsername("bob").orElseThrow());
+                assertEquals(List.of("Albert", "alice"), usernames("al"));
+
+                userDirectory.rebuild();
+                assertEquals(List.of("caroline"), usernames("car"));
+                assertEquals(List.of("Albert", "alice"), usernames("al"));
+        }
+
+        private List<String> usernames(String query) {
+                return userDirectory.search(query, 10).stream().map(summary -> summary.getUsername()).toList();
+        }
+}
@@ -0,0 +1,36 @@
+-- The schema Hibernate's ddl-auto=update created on PostgreSQL before the Flyway migrations
+-- existed, as FlywayBaselineUpgradeTest starts from.
+
+create table users (
+    id bigint generated by default as identity,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    role varchar(255),
+    username varchar(255) not null,
+    primary key (id)
+);
+
+create table tasks (
+    id bigint generated by default as identity,
+    created_at timestamp(6),
+    description TEXT,
+    due_date timestamp(6),
+    priority varchar(255) not null check (priority in ('LOW','MEDIUM','HIGH')),
+    status varchar(255) not null check (status in ('PENDING','IN_PROGRESS','COMPLETED')),
+    title varchar(255) not null,
+    updated_at timestamp(6),
+    assigned_user_id bigint,
+    user_id bigint not null,
+    primary key (id)
+);
+
+create table task_attachments (
+    task_id bigint not null,
+    file_url varchar(255)
+);
+
+alter table if exists users add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table if exists users add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username);
+alter table if exists task_attachments add constraint FKmxx3hh4b5ha5vsttlnvxphy28 foreign key (task_id) references tasks;
+alter table if exists tasks add constraint FKekr1dgiqktpyoip3qmp6lxsit foreign key (user_id) references users;
+alter table if exists tasks add constraint FKlbb6ccxyd15s1gh5lhe2ahqux foreign key (assigned_user_id) references users;
@@ -16,6 +16,7 @@ import { Label } from "@/components/ui/label";
 import { Textarea } from "@/components/ui/textarea";
 import { FileIcon } from "lucide-react";
 import api from '@/lib/api';
+import { uploadFile, MAX_UPLOAD_SIZE } from '@/lib/upload';
 import UserSelect from './UserSelect';
 import { toast } from "sonner";
 
@@ -65,31 +66,23 @@ export function CreateTask() {
 
     const [showErrorDialog, setShowErrorDialog] = useState(false);
     const [errorMessage, setErrorMessage] = useState('');
-    const MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
 
     const handleFileUpload = async (e) => {
         const file = e.target.files[0];
         if (!file) return;
 
-        if (file.size > MAX_FILE_SIZE) {
-            setErrorMessage("File size exceeds the 10MB limit. Please upload a smaller file.");
+        if (file.size > MAX_UPLOAD_SIZE) {
+            setErrorMessage("File size exceeds the 5GB limit. Please upload a smaller file.");
             setShowErrorDialog(true);
             e.target.value = '';
             return;
         }
 
-        const formData = new FormData();
-        formData.append("file", file);
-
         setUploading(true);
         try {
-            const response = await api.post("/files/upload", formData, {
-                headers: {
-                    "Content-Type": "multipart/form-data",
-                },
-            });
+            const uploaded = await uploadFile(file);
 
-            setAttachments(prev => [...prev, response.data.fileUrl]);
+            setAttachments(prev => [...prev, uploaded.fileUrl]);
         } catch (error) {
             console.error("File upload failed", error);
             setErrorMessage("Failed to upload file. Please try again.");
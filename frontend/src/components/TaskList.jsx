@@ -1,6 +1,6 @@
 import { useEffect, useState } from "react";
 import { useDispatch, useSelector } from "react-redux";
-import { fetchTasks, updateTask, deleteTask, updateTaskStatusOptimistic } from "../store/taskSlice";
+import { fetchTasks, fetchStats, searchTasks, updateTask, deleteTask, updateTaskStatusOptimistic, taskEventReceived } from "../store/taskSlice";
 import {
     DndContext,
     closestCorners,
@@ -38,6 +38,8 @@ import {
     DialogDescription,
 } from "@/components/ui/dialog";
 import api from "@/lib/api";
+import { uploadFile, MAX_UPLOAD_SIZE } from "@/lib/upload";
+import { subscribeToTaskEvents } from "@/lib/taskStream";
 import { CreateTask } from "./CreateTask";
 import UserSelect from "./UserSelect";
 import { toast } from "sonner";
@@ -50,15 +52,45 @@ const COLUMNS = [
 
 export function TaskList() {
     const dispatch = useDispatch();
-    const { items: tasks, status, searchTerm } = useSelector((state) => state.tasks);
+    const { items: tasks, status, searchTerm, searchResultIds, stats } = useSelector((state) => state.tasks);
     const [activeId, setActiveId] = useState(null);
 
     useEffect(() => {
         dispatch(fetchTasks());
+        dispatch(fetchStats());
+        // Refresh the counts once a burst of events has settled rather than on every one.
+        let statsTimer = null;
+        const refreshStats = () => {
+            clearTimeout(statsTimer);
+            statsTimer = setTimeout(() => dispatch(fetchStats()), 1000);
+        };
+        const unsubscribe = subscribeToTaskEvents({
+            onEvent: (event) => {
+                dispatch(taskEventReceived(event));
+                refreshStats();
+            },
+            onResync: () => {
+                dispatch(fetchTasks());
+                refreshStats();
+            },
+        });
+        return () => {
+            clearTimeout(statsTimer);
+            unsubscribe();
+        };
     }, [dispatch]);
 
+    useEffect(() => {
+        if (!searchTerm.trim()) return;
+        const timer = setTimeout(() => dispatch(searchTasks(searchTerm)), 250);
+        return () => clearTimeout(timer);
+    }, [dispatch, searchTerm]);
+
+    // Server-side full-text results when available, otherwise a local substring match.
+    const matchingIds = searchResultIds ? new Set(searchResultIds) : null;
     const filteredTasks = tasks.filter(task => {
         if (!searchTerm) return true;
+        if (matchingIds) return matchingIds.has(task.id);
         const lowerTerm = searchTerm.toLowerCase();
         return task.title.toLowerCase().includes(lowerTerm) ||
             task.description.toLowerCase().includes(lowerTerm);
@@ -138,7 +170,15 @@ export function TaskList() {
 
     return (
         <div className="space-y-6">
-            <div className="flex justify-end items-center">
+            <div className="flex justify-between items-center">
+                {stats ? (
+                    <div className="flex gap-4 text-sm text-muted-foreground">
+                        <span>{stats.total} tasks</span>
+                        <span className={stats.overdue > 0 ? "text-red-600" : undefined}>{stats.overdue} overdue</span>
+                        <span>{stats.byPriority.HIGH} high priority</span>
+                        <span>{stats.unassigned} unassigned</span>
+                    </div>
+                ) : <div />}
                 <CreateTask />
             </div>
 
@@ -194,7 +234,6 @@ function TaskCard({ task, onDelete, isOverlay, handleUpdateTask }) {
     const [showDeleteDialog, setShowDeleteDialog] = useState(false);
     const [showErrorDialog, setShowErrorDialog] = useState(false);
     const [errorMessage, setErrorMessage] = useState('');
-    const MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
 
     useEffect(() => {
         if (!isEditing) {
@@ -243,25 +282,18 @@ function TaskCard({ task, onDelete, isOverlay, handleUpdateTask }) {
         const file = e.target.files[0];
         if (!file) return;
 
-        if (file.size > MAX_FILE_SIZE) {
-            setErrorMessage("File size exceeds the 10MB limit. Please upload a smaller file.");
+        if (file.size > MAX_UPLOAD_SIZE) {
+            setErrorMessage("File size exceeds the 5GB limit. Please upload a smaller file.");
             setShowErrorDialog(true);
             e.target.value = '';
             return;
         }
 
-        const formData = new FormData();
-        formData.append("file", file);
-
         setUploading(true);
         try {
-            const response = await api.post("/files/upload", formData, {
-                headers: {
-                    "Content-Type": "multipart/form-data",
-                },
-            });
+            const uploaded = await uploadFile(file);
 
-            const newAttachment = response.data.fileUrl;
+            const newAttachment = uploaded.fileUrl;
             setEditAttachments(prev => [...prev, newAttachment]);
         } catch (error) {
             console.error("File upload failed", error);
@@ -365,6 +397,7 @@ function TaskCard({ task, onDelete, isOverlay, handleUpdateTask }) {
                             <UserSelect
                                 value={editAssignedUserId}
                                 onChange={setEditAssignedUserId}
+                                selectedLabel={task.assignedUsername}
                             />
                         </div>
 
@@ -1,42 +1,78 @@
 import React, { useEffect, useState } from 'react';
 import api from '../lib/api';
 
-const UserSelect = ({ value, onChange, placeholder = "Assign to..." }) => {
+const SEARCH_LIMIT = 20;
+const SEARCH_DELAY_MS = 200;
+
+const UserSelect = ({ value, onChange, selectedLabel, placeholder = "Assign to..." }) => {
+    const [query, setQuery] = useState("");
     const [users, setUsers] = useState([]);
     const [loading, setLoading] = useState(true);
+    // Keeps the current assignee selectable when it is not among the search results.
+    const [selected, setSelected] = useState(
+        value && selectedLabel ? { id: Number(value), username: selectedLabel } : null
+    );
 
     useEffect(() => {
-        const fetchUsers = async () => {
+        let cancelled = false;
+        const timer = setTimeout(async () => {
             try {
-                const response = await api.get('/users');
-                setUsers(response.data);
+                const response = await api.get('/users/search', { params: { q: query, limit: SEARCH_LIMIT } });
+                if (!cancelled) {
+                    setUsers(response.data);
+                }
             } catch (error) {
-                console.error("Failed to fetch users", error);
+                console.error("Failed to search users", error);
             } finally {
-                setLoading(false);
+                if (!cancelled) {
+                    setLoading(false);
+                }
             }
+        }, query ? SEARCH_DELAY_MS : 0);
+
+        return () => {
+            cancelled = true;
+            clearTimeout(timer);
         };
+    }, [query]);
 
-        fetchUsers();
-    }, []);
+    const options = selected && value && String(selected.id) === String(value)
+        && !users.some((user) => user.id === selected.id)
+        ? [selected, ...users]
+        : users;
 
-    if (loading) {
-        return <div className="text-xs text-muted-foreground">Loading users...</div>;
-    }
+    const handleChange = (e) => {
+        const user = options.find((option) => String(option.id) === e.target.value);
+        setSelected(user || null);
+        onChange(e.target.value || null);
+    };
 
     return (
-        <select
-            value={value || ""}
-            onChange={(e) => onChange(e.target.value || null)}
-            className="flex h-10 w-full items-center justify-between rounded-md border border-input bg-background px-3 py-2 text-sm ring-offset-background placeholder:text-muted-foreground focus:outline-none focus:ring-2 focus:ring-ring focus:ring-offset-2 disabled:cursor-not-allowed disabled:opacity-50"
-        >
-            <option value="">{placeholder}</option>
-            {users.map((user) => (
-                <option key={user.id} value={user.id}>
-                    {user.username}
-                </option>
-            ))}
-        </select>
+        <div className="space-y-2">
+            <input
+                type="search"
+                value={query}
+                onChange={(e) => setQuery(e.target.value)}
+                placeholder="Search users..."
+                className="flex h-9 w-full rounded-md border border-input bg-background px-3 py-1 text-sm ring-offset-background placeholder:text-muted-foreground focus:outline-none focus:ring-2 focus:ring-ring focus:ring-offset-2"
+            />
+            {loading ? (
+                <div className="text-xs text-muted-foreground">Loading users...</div>
+            ) : (
+                <select
+                    value={value || ""}
+                    onChange={handleChange}
+                    className="flex h-10 w-full items-center justify-between rounded-md border border-input bg-background px-3 py-2 text-sm ring-offset-background placeholder:text-muted-foreground focus:outline-none focus:ring-2 focus:ring-ring focus:ring-offset-2 disabled:cursor-not-allowed disabled:opacity-50"
+                >
+                    <option value="">{placeholder}</option>
+                    {options.map((user) => (
+                        <option key={user.id} value={user.id}>
+                            {user.username}
+                        </option>
+                    ))}
+                </select>
+            )}
+        </div>
     );
 };
 
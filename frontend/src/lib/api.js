@@ -1,7 +1,9 @@
 import axios from 'axios';
 
+export const BASE_URL = 'http://localhost:8080';
+
 const api = axios.create({
-    baseURL: 'http://localhost:8080',
+    baseURL: BASE_URL,
     headers: {
         'Content-Type': 'application/json',
     },
@@ -20,4 +22,44 @@ api.interceptors.request.use(
     }
 );
 
+// Access tokens are short-lived; one refresh is shared by all requests that fail at the same time.
+let refreshing = null;
+
+const refreshTokens = async () => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (!refreshToken) {
+        throw new Error('No refresh token');
+    }
+    const { data } = await axios.post(`${BASE_URL}/auth/refresh`, { refreshToken });
+    localStorage.setItem('token', data.accessToken);
+    localStorage.setItem('refreshToken', data.refreshToken);
+    return data.accessToken;
+};
+
+export const refreshAccessToken = () => {
+    refreshing = refreshing || refreshTokens().finally(() => { refreshing = null; });
+    return refreshing;
+};
+
+api.interceptors.response.use(
+    (response) => response,
+    async (error) => {
+        const original = error.config;
+        if (error.response?.status !== 401 || !original || original._retried || original.url?.startsWith('/auth/')) {
+            return Promise.reject(error);
+        }
+
+        original._retried = true;
+        try {
+            const token = await refreshAccessToken();
+            original.headers.Authorization = `Bearer ${token}`;
+            return api(original);
+        } catch {
+            localStorage.removeItem('token');
+            localStorage.removeItem('refreshToken');
+            return Promise.reject(error);
+        }
+    }
+);
+
 export default api;
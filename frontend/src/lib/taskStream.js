@@ -0,0 +1,81 @@
+import { BASE_URL, refreshAccessToken } from './api';
+
+const MAX_RETRY_DELAY = 30000;
+
+const sleep = (ms) => new Promise((resolve) => setTimeout(resolve, ms));
+
+// Splits a text/event-stream body into { id, type, data } events.
+async function readEvents(body, onEvent) {
+    const reader = body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    let event = { id: null, type: 'message', data: '' };
+    for (;;) {
+        const { value, done } = await reader.read();
+        if (done) {
+            return;
+        }
+        buffer += value;
+        const lines = buffer.split(/\r?\n/);
+        buffer = lines.pop();
+        for (const line of lines) {
+            if (line === '') {
+                if (event.data || event.type !== 'message') {
+                    onEvent(event);
+                }
+                event = { id: null, type: 'message', data: '' };
+            } else if (!line.startsWith(':')) {
+                const colon = line.indexOf(':');
+                const field = colon === -1 ? line : line.slice(0, colon);
+                const text = colon === -1 ? '' : line.slice(colon + 1).replace(/^ /, '');
+                if (field === 'id') event.id = text;
+                else if (field === 'event') event.type = text;
+                else if (field === 'data') event.data += event.data ? `\n${text}` : text;
+            }
+        }
+    }
+}
+
+/**
+ * Follows /tasks/stream and returns a function that closes it. EventSource cannot send the
+ * Authorization header, so the stream is read with fetch. After a drop it reconnects with
+ * Last-Event-ID; onResync is called when the server can no longer replay what was missed.
+ */
+export function subscribeToTaskEvents({ onEvent, onResync }) {
+    const controller = new AbortController();
+    let lastEventId = null;
+    let retryDelay = 1000;
+
+    const run = async () => {
+        while (!controller.signal.aborted) {
+            try {
+                const headers = { Accept: 'text/event-stream' };
+                const token = localStorage.getItem('token');
+                if (token) headers.Authorization = `Bearer ${token}`;
+                if (lastEventId) headers['Last-Event-ID'] = lastEventId;
+
+                const response = await fetch(`${BASE_URL}/tasks/stream`, { headers, signal: controller.signal });
+                if (response.status === 401) {
+                    await refreshAccessToken();
+                    continue;
+                }
+                if (!response.ok) {
+                    throw new Error(`Task stream failed with ${response.status}`);
+                }
+
+                retryDelay = 1000;
+                await readEvents(response.body, (event) => {
+                    if (event.id) lastEventId = event.id;
+                    if (event.type === 'resync') onResync();
+                    else onEvent(JSON.parse(event.data));
+                });
+            } catch {
+                if (controller.signal.aborted) return;
+            }
+            await sleep(retryDelay);
+            retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY);
+        }
+    };
+
+    run();
+    return () => controller.abort();
+}
@@ -0,0 +1,44 @@
+import api from './api';
+
+export const MAX_UPLOAD_SIZE = 5 * 1024 * 1024 * 1024; // 5GB, matches app.upload.maxSize
+const CHUNK_SIZE = 8 * 1024 * 1024;
+const PARALLEL_CHUNKS = 3;
+
+/**
+ * Uploads a file through the resumable chunk API and resolves to { fileName, fileUrl }.
+ * Chunks that fail are retried once; the server keeps every byte that arrived.
+ */
+export async function uploadFile(file) {
+    const { data: session } = await api.post('/files/uploads', { fileName: file.name, size: file.size });
+    const url = `/files/uploads/${session.uploadId}`;
+
+    const offsets = [];
+    for (let offset = 0; offset < file.size; offset += CHUNK_SIZE) {
+        offsets.push(offset);
+    }
+
+    const sendChunk = (offset) => api.put(url, file.slice(offset, offset + CHUNK_SIZE), {
+        params: { offset },
+        headers: { 'Content-Type': 'application/octet-stream' },
+    });
+
+    const worker = async () => {
+        while (offsets.length > 0) {
+            const offset = offsets.shift();
+            try {
+                await sendChunk(offset);
+            } catch {
+                await sendChunk(offset);
+            }
+        }
+    };
+
+    try {
+        await Promise.all(Array.from({ length: PARALLEL_CHUNKS }, worker));
+        const { data } = await api.post(`${url}/complete`);
+        return data;
+    } catch (error) {
+        api.delete(url).catch(() => {});
+        throw error;
+    }
+}
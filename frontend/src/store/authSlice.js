@@ -25,6 +25,18 @@ export const registerUser = createAsyncThunk(
     }
 );
 
+export const logoutUser = createAsyncThunk(
+    'auth/logoutUser',
+    async (_, { dispatch }) => {
+        try {
+            await api.post('/auth/logout', { refreshToken: localStorage.getItem('refreshToken') });
+        } catch {
+            // The tokens expire on their own; logging out locally is what matters.
+        }
+        dispatch(logout());
+    }
+);
+
 const initialState = {
     user: JSON.parse(localStorage.getItem('user')) || null,
     token: localStorage.getItem('token') || null,
@@ -43,6 +55,7 @@ const authSlice = createSlice({
             state.error = null;
             localStorage.removeItem('user');
             localStorage.removeItem('token');
+            localStorage.removeItem('refreshToken');
         },
         clearError: (state) => {
             state.error = null;
@@ -65,6 +78,7 @@ const authSlice = createSlice({
                 state.token = action.payload.accessToken;
                 localStorage.setItem('user', JSON.stringify(state.user));
                 localStorage.setItem('token', state.token);
+                localStorage.setItem('refreshToken', action.payload.refreshToken);
             })
             .addCase(loginUser.rejected, (state, action) => {
                 state.status = 'failed';
@@ -5,14 +5,47 @@ export const fetchTasks = createAsyncThunk(
     'tasks/fetchTasks',
     async (_, { rejectWithValue }) => {
         try {
-            const response = await api.get('/tasks');
-            return response.data;
+            // The list endpoint is cursor-paginated; follow X-Next-Cursor until the last page.
+            const tasks = [];
+            let cursor = null;
+            do {
+                const response = await api.get('/tasks', {
+                    params: cursor ? { cursor, size: 500 } : { size: 500 },
+                });
+                tasks.push(...response.data);
+                cursor = response.headers?.['x-next-cursor'] || null;
+            } while (cursor);
+            return tasks;
         } catch (error) {
             return rejectWithValue(error.response?.data?.message || 'Failed to fetch tasks');
         }
     }
 );
 
+export const searchTasks = createAsyncThunk(
+    'tasks/searchTasks',
+    async (query, { rejectWithValue }) => {
+        try {
+            const response = await api.get('/tasks/search', { params: { q: query, limit: 100 } });
+            return response.data.map(hit => hit.task.id);
+        } catch (error) {
+            return rejectWithValue(error.response?.data?.message || 'Failed to search tasks');
+        }
+    }
+);
+
+export const fetchStats = createAsyncThunk(
+    'tasks/fetchStats',
+    async (_, { rejectWithValue }) => {
+        try {
+            const response = await api.get('/tasks/stats');
+            return response.data;
+        } catch (error) {
+            return rejectWithValue(error.response?.data?.message || 'Failed to fetch task stats');
+        }
+    }
+);
+
 export const createTask = createAsyncThunk(
     'tasks/createTask',
     async (taskData, { rejectWithValue }) => {
@@ -54,6 +87,10 @@ const initialState = {
     status: 'idle',
     error: null,
     searchTerm: '',
+    // Ids matching searchTerm, ranked by the server; null when not searching.
+    searchResultIds: null,
+    // Counts over all tasks from /tasks/stats; null until first loaded.
+    stats: null,
 };
 
 const taskSlice = createSlice({
@@ -69,7 +106,24 @@ const taskSlice = createSlice({
         },
         setSearchTerm: (state, action) => {
             state.searchTerm = action.payload;
-        }
+            if (!action.payload.trim()) {
+                state.searchResultIds = null;
+            }
+        },
+        // Applies a change pushed over /tasks/stream; our own writes arrive here too, so upsert.
+        taskEventReceived: (state, action) => {
+            const { type, taskId, task } = action.payload;
+            if (type === 'deleted') {
+                state.items = state.items.filter(item => item.id !== taskId);
+                return;
+            }
+            const index = state.items.findIndex(item => item.id === taskId);
+            if (index !== -1) {
+                state.items[index] = task;
+            } else {
+                state.items.push(task);
+            }
+        },
     },
     extraReducers: (builder) => {
         builder
@@ -85,8 +139,22 @@ const taskSlice = createSlice({
                 state.status = 'failed';
                 state.error = action.payload;
             })
+            .addCase(searchTasks.fulfilled, (state, action) => {
+                // Ignore answers to a query the user has already typed past.
+                if (action.meta.arg === state.searchTerm) {
+                    state.searchResultIds = action.payload;
+                }
+            })
+            .addCase(searchTasks.rejected, (state) => {
+                state.searchResultIds = null;
+            })
+            .addCase(fetchStats.fulfilled, (state, action) => {
+                state.stats = action.payload;
+            })
             .addCase(createTask.fulfilled, (state, action) => {
-                state.items.push(action.payload);
+                if (!state.items.some(task => task.id === action.payload.id)) {
+                    state.items.push(action.payload);
+                }
             })
             .addCase(updateTask.fulfilled, (state, action) => {
                 const index = state.items.findIndex(task => task.id === action.payload.id);
@@ -100,5 +168,5 @@ const taskSlice = createSlice({
     },
 });
 
-export const { updateTaskStatusOptimistic, setSearchTerm } = taskSlice.actions;
+export const { updateTaskStatusOptimistic, setSearchTerm, taskEventReceived } = taskSlice.actions;
 export default taskSlice.reducer;